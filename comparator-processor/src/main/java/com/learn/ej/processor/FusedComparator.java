@@ -0,0 +1,25 @@
+package com.learn.ej.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 붙인 클래스와 같은 패키지에 {@code <클래스 이름>Comparators} 를 만들고, 그 안에 keys 순서로 비교하는
+ * Comparator 상수 {@code name} 을 만든다. 생성된 비교기는 키마다 람다를 거치지 않고
+ * 손으로 쓴 compareTo 처럼 한 메서드 안에서 차례로 비교한다.
+ * <p>
+ * 키는 기본 타입을 돌려주는 인자 없는 메서드(key(), getKey(), isKey())나 필드 이름이다.
+ * private 필드는 Lombok @Getter 처럼 getKey()/isKey() 가 있다고 보고 호출한다.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Repeatable(FusedComparators.class)
+public @interface FusedComparator {
+
+    String name();
+
+    String[] keys();
+}
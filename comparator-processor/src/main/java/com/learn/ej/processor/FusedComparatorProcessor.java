@@ -0,0 +1,199 @@
+package com.learn.ej.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * FusedComparator 를 읽어서 키 비교를 한 메서드로 펼친 Comparator 소스를 만든다.
+ */
+@SupportedAnnotationTypes({
+    "com.learn.ej.processor.FusedComparator",
+    "com.learn.ej.processor.FusedComparators"
+})
+public class FusedComparatorProcessor extends AbstractProcessor {
+
+    private static final Map<TypeKind, String> COMPARE_METHODS = Map.of(
+        TypeKind.BOOLEAN, "Boolean.compare",
+        TypeKind.BYTE, "Byte.compare",
+        TypeKind.SHORT, "Short.compare",
+        TypeKind.CHAR, "Character.compare",
+        TypeKind.INT, "Integer.compare",
+        TypeKind.LONG, "Long.compare",
+        TypeKind.FLOAT, "Float.compare",
+        TypeKind.DOUBLE, "Double.compare");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<? extends Element> elements = roundEnv.getElementsAnnotatedWithAny(
+            Set.of(FusedComparator.class, FusedComparators.class));
+        for (Element element : elements) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@FusedComparator can only be applied to classes");
+                continue;
+            }
+            generate((TypeElement) element, element.getAnnotationsByType(FusedComparator.class));
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, FusedComparator[] specs) {
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL || !type.getTypeParameters().isEmpty()) {
+            error(type, "@FusedComparator supports only non-generic top-level classes");
+            return;
+        }
+        String packageName = ((PackageElement) type.getEnclosingElement()).getQualifiedName().toString();
+        String typeName = type.getSimpleName().toString();
+        String className = typeName + "Comparators";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.Comparator;\n\n")
+            .append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("public final class ").append(className).append(" {\n\n");
+
+        Set<String> names = new HashSet<>();
+        StringBuilder nestedClasses = new StringBuilder();
+        for (FusedComparator spec : specs) {
+            String name = spec.name();
+            if (!SourceVersion.isIdentifier(name) || SourceVersion.isKeyword(name) || !names.add(name)) {
+                error(type, "invalid or duplicate comparator name: " + name);
+                return;
+            }
+            if (spec.keys().length == 0) {
+                error(type, "comparator " + name + " has no keys");
+                return;
+            }
+            String nestedName = toCamelCase(name) + "Comparator";
+            source.append("    public static final Comparator<").append(typeName).append("> ").append(name)
+                .append(" = new ").append(nestedName).append("();\n\n");
+
+            nestedClasses.append("    private static final class ").append(nestedName)
+                .append(" implements Comparator<").append(typeName).append("> {\n\n")
+                .append("        @Override\n")
+                .append("        public int compare(").append(typeName).append(" a, ").append(typeName).append(" b) {\n");
+            String[] keys = spec.keys();
+            for (int i = 0; i < keys.length; i++) {
+                Accessor accessor = accessor(type, keys[i]);
+                if (accessor == null) {
+                    return;
+                }
+                String compare = accessor.compareMethod
+                    + "(a." + accessor.expression + ", b." + accessor.expression + ")";
+                if (i == keys.length - 1) {
+                    nestedClasses.append("            return ").append(compare).append(";\n");
+                } else {
+                    nestedClasses.append(i == 0 ? "            int result = " : "            result = ")
+                        .append(compare).append(";\n")
+                        .append("            if (result != 0) {\n")
+                        .append("                return result;\n")
+                        .append("            }\n");
+                }
+            }
+            nestedClasses.append("        }\n")
+                .append("    }\n\n");
+        }
+
+        source.append("    private ").append(className).append("() {\n")
+            .append("    }\n\n")
+            .append(nestedClasses);
+        source.setLength(source.length() - 1);
+        source.append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (PrintWriter writer = new PrintWriter(
+            processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            writer.print(source);
+        } catch (IOException e) {
+            error(type, "failed to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    // key(), getKey(), isKey() 메서드 -> 접근 가능한 필드 -> private 필드의 getter 순서로 찾는다.
+    private Accessor accessor(TypeElement type, String key) {
+        List<? extends Element> members = processingEnv.getElementUtils().getAllMembers(type);
+        String capitalized = Character.toUpperCase(key.charAt(0)) + key.substring(1);
+        Set<String> methodNames = Set.of(key, "get" + capitalized, "is" + capitalized);
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            if (methodNames.contains(method.getSimpleName().toString())
+                && method.getParameters().isEmpty()
+                && !method.getModifiers().contains(Modifier.PRIVATE)
+                && !method.getModifiers().contains(Modifier.STATIC)) {
+                return accessor(type, key, method.getReturnType(), method.getSimpleName() + "()");
+            }
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            if (field.getSimpleName().contentEquals(key) && !field.getModifiers().contains(Modifier.STATIC)) {
+                if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                    return accessor(type, key, field.asType(), key);
+                }
+                // Lombok 이 만든 getter 는 이 시점에 아직 보이지 않을 수 있어서 이름 규칙으로 부른다.
+                String getter = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + capitalized;
+                return accessor(type, key, field.asType(), getter + "()");
+            }
+        }
+        error(type, "no accessor or field for key: " + key);
+        return null;
+    }
+
+    private Accessor accessor(TypeElement type, String key, TypeMirror keyType, String expression) {
+        String compareMethod = COMPARE_METHODS.get(keyType.getKind());
+        if (compareMethod == null) {
+            error(type, "key must be a primitive type: " + key + " (" + keyType + ")");
+            return null;
+        }
+        return new Accessor(expression, compareMethod);
+    }
+
+    // NATURAL_ORDER -> NaturalOrder
+    private static String toCamelCase(String name) {
+        StringBuilder result = new StringBuilder();
+        for (String part : name.split("_")) {
+            if (!part.isEmpty()) {
+                result.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1).toLowerCase());
+            }
+        }
+        return result.length() == 0 ? "Fused" : result.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+    }
+
+    private static final class Accessor {
+
+        private final String expression;
+        private final String compareMethod;
+
+        private Accessor(String expression, String compareMethod) {
+            this.expression = expression;
+            this.compareMethod = compareMethod;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 원본, ForwardingSet, 핵심 메서드만 넘기는 감싼 set 을 병렬 스트림으로 훑는 비용.
+ * 핵심 메서드만 넘기면 Collection 의 기본 spliterator 가 iterator 를 묶음으로 잘라서 나누므로 병렬 처리가 잘 안 된다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ForwardingBenchmark {
+
+    @Param({"hash", "concurrent"})
+    private String backing;
+
+    @Param({"1048576"})
+    private int size;
+
+    private Set<Integer> raw;
+    private Set<Integer> forwarding;
+    private Set<Integer> coreOnly;
+
+    @Setup
+    public void setUp() {
+        raw = "hash".equals(backing) ? new HashSet<>() : ConcurrentHashMap.newKeySet();
+        raw.addAll(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+        forwarding = new ForwardingSet<>(raw);
+        coreOnly = new CoreOnlySet<>(raw);
+    }
+
+    @Benchmark
+    public long raw() {
+        return raw.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long forwarding() {
+        return forwarding.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long coreOnly() {
+        return coreOnly.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    // 이전 ForwardingSet 처럼 default 메서드를 넘기지 않는 감싼 set
+    private static final class CoreOnlySet<E> extends AbstractSet<E> {
+
+        private final Set<E> s;
+
+        private CoreOnlySet(Set<E> s) {
+            this.s = s;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return s.iterator();
+        }
+
+        @Override
+        public int size() {
+            return s.size();
+        }
+    }
+}
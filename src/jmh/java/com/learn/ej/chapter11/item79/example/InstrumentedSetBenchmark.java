@@ -0,0 +1,96 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * contains 한 번의 비용. 원본, ForwardingSet, 모든 호출을 재는 InstrumentedSet, 1024 번에 한 번 재는 InstrumentedSet 의 비교.
+ * 표본이 아닌 호출의 추가 비용은 스레드별 칸의 int 증가 하나라서 캐시에 다 들어가지 않는 큰 set 에서는 조회 비용에 묻힌다.
+ * 조회할 키는 고정 시드로 뽑아서 fork 와 실행마다 같은 키로 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+@State(Scope.Benchmark)
+public class InstrumentedSetBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private Set<Integer> raw;
+    private Set<Integer> forwarding;
+    private Set<Integer> instrumented;
+    private Set<Integer> sampled;
+    private Integer[] keys;
+
+    @Setup
+    public void setUp() {
+        raw = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            raw.add(i);
+        }
+        forwarding = new ForwardingSet<>(raw);
+        instrumented = new InstrumentedSet<>(raw, "instrumented");
+        sampled = new InstrumentedSet<>(raw, "sampled", 1024);
+        // 절반은 있는 값, 절반은 없는 값
+        Random random = new Random(42);
+        keys = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            keys[i] = random.nextInt(size * 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int raw() {
+        return countHits(raw);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int forwarding() {
+        return countHits(forwarding);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int instrumented() {
+        return countHits(instrumented);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int sampled() {
+        return countHits(sampled);
+    }
+
+    private int countHits(Set<Integer> set) {
+        int hits = 0;
+        for (Integer key : keys) {
+            if (set.contains(key)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,94 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Arrays.sort(T[], Comparator) 의 비교 호출 지점에서 비교기 종류별 비용.
+ * polluted 이면 측정 전에 여러 모양의 비교기로 정렬해서 TimSort 안의 c.compare 와
+ * thenComparingInt 람다 안의 호출 지점을 megamorphic 으로 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ComparatorBenchmark {
+
+    private static final Comparator<PhoneNumber> CHAIN =
+        Comparator.comparingInt(PhoneNumber::getAreaCode)
+            .thenComparingInt(PhoneNumber::getPrefix)
+            .thenComparingInt(PhoneNumber::getLineNum);
+
+    @Param({"false", "true"})
+    private boolean polluted;
+
+    @Param({"100000"})
+    private int size;
+
+    private PhoneNumber[] phoneNumbers;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        phoneNumbers = new PhoneNumber[size];
+        for (int i = 0; i < size; i++) {
+            phoneNumbers[i] = new PhoneNumber(rnd.nextInt(100), rnd.nextInt(100), rnd.nextInt(9_999_999) + 10_000_000);
+        }
+        if (polluted) {
+            pollute();
+        }
+    }
+
+    private void pollute() {
+        List<Comparator<PhoneNumber>> shapes = List.of(
+            Comparator.naturalOrder(),
+            CHAIN,
+            Comparator.comparingInt(PhoneNumber::getLineNum).thenComparingInt(PhoneNumber::getPrefix),
+            Comparator.comparingInt(PhoneNumber::getPrefix).thenComparingInt(PhoneNumber::getAreaCode).reversed(),
+            PhoneNumberComparators.NATURAL_ORDER,
+            PhoneNumberComparators.BY_LINE_NUM,
+            (a, b) -> Integer.compare(a.getLineNum() % 1000, b.getLineNum() % 1000));
+        for (int round = 0; round < 20; round++) {
+            for (Comparator<PhoneNumber> shape : shapes) {
+                Arrays.sort(phoneNumbers.clone(), shape);
+            }
+        }
+    }
+
+    @Benchmark
+    public PhoneNumber[] compareTo() {
+        PhoneNumber[] copy = phoneNumbers.clone();
+        Arrays.sort(copy, Comparator.naturalOrder());
+        return copy;
+    }
+
+    @Benchmark
+    public PhoneNumber[] comparatorChain() {
+        PhoneNumber[] copy = phoneNumbers.clone();
+        Arrays.sort(copy, CHAIN);
+        return copy;
+    }
+
+    @Benchmark
+    public PhoneNumber[] fused() {
+        PhoneNumber[] copy = phoneNumbers.clone();
+        Arrays.sort(copy, PhoneNumberComparators.NATURAL_ORDER);
+        return copy;
+    }
+}
@@ -0,0 +1,62 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 중복이 섞인 번호의 중복 제거. HashSet&lt;PhoneNumber&gt; 와 압축 키 LongHashSet 의 비교.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class DedupBenchmark {
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    private PhoneNumber[] phoneNumbers;
+    private long[] keys;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        phoneNumbers = new PhoneNumber[size];
+        keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            phoneNumbers[i] = new PhoneNumber(rnd.nextInt(100), rnd.nextInt(100), rnd.nextInt(size / 20_000 + 1));
+            keys[i] = PhoneNumberKeys.pack(phoneNumbers[i]);
+        }
+    }
+
+    @Benchmark
+    public int hashSet() {
+        Set<PhoneNumber> set = new HashSet<>();
+        for (PhoneNumber pn : phoneNumbers) {
+            set.add(pn);
+        }
+        return set.size();
+    }
+
+    @Benchmark
+    public int longHashSet() {
+        LongHashSet set = new LongHashSet();
+        set.addAll(keys);
+        return set.size();
+    }
+}
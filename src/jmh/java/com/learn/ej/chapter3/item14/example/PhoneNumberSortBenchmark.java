@@ -0,0 +1,88 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * compareTo 를 직접 구현한 정렬, Comparator 조합 정렬, 압축 키 radix sort 의 비교. (CompareToPerformanceTest 를 대체한다.)
+ * 정렬은 리스트를 바꾸므로 매번 복사본을 정렬한다. 복사 비용은 copyOnly 로 따로 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PhoneNumberSortBenchmark {
+
+    private static final Comparator<PhoneNumber> COMPARATOR =
+        Comparator.comparingInt(PhoneNumber::getAreaCode)
+            .thenComparingInt(PhoneNumber::getPrefix)
+            .thenComparingInt(PhoneNumber::getLineNum);
+
+    @Param({"1000", "1000000", "10000000"})
+    private int size;
+
+    private List<PhoneNumber> phoneNumbers;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        phoneNumbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            phoneNumbers.add(PhoneNumber.builder()
+                .areaCode(rnd.nextInt(100))
+                .prefix(rnd.nextInt(100))
+                .lineNum(rnd.nextInt(9_999_999) + 10_000_000)
+                .build());
+        }
+    }
+
+    @Benchmark
+    public List<PhoneNumber> copyOnly() {
+        return new ArrayList<>(phoneNumbers);
+    }
+
+    @Benchmark
+    public List<PhoneNumber> compareTo() {
+        List<PhoneNumber> copy = new ArrayList<>(phoneNumbers);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<PhoneNumber> comparator() {
+        List<PhoneNumber> copy = new ArrayList<>(phoneNumbers);
+        copy.sort(COMPARATOR);
+        return copy;
+    }
+
+    @Benchmark
+    public List<PhoneNumber> radixSort() {
+        List<PhoneNumber> copy = new ArrayList<>(phoneNumbers);
+        PhoneNumberRadixSorter.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public List<PhoneNumber> parallelRadixSort() {
+        List<PhoneNumber> copy = new ArrayList<>(phoneNumbers);
+        PhoneNumberRadixSorter.parallelSort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,96 @@
+package com.learn.ej.chapter5.item28;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 한 번 뽑는 데 드는 비용. baseline 은 ThreadLocalRandom + List.get 을 직접 호출하는 경로다.
+ * 가중치 선택은 누적 가중치 배열을 이진 탐색하는 O(log n) 방식과 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ChooserBenchmark {
+
+    private static final int BULK = 1024;
+
+    @Param({"16", "4096", "1048576"})
+    private int size;
+
+    private List<Integer> list;
+    private Chooser<Integer> chooser;
+    private WeightedChooser<Integer> weightedChooser;
+    private double[] cumulativeWeights;
+    private Integer[] out;
+
+    @Setup
+    public void setUp() {
+        list = IntStream.range(0, size).boxed().collect(Collectors.toList());
+        chooser = new Chooser<>(list);
+        // 원소 값 + 1 을 가중치로 쓴다.
+        weightedChooser = new WeightedChooser<>(list, i -> i + 1);
+        cumulativeWeights = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += i + 1;
+            cumulativeWeights[i] = sum;
+        }
+        out = new Integer[BULK];
+    }
+
+    @Benchmark
+    public Integer baseline() {
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    @Benchmark
+    public Integer choose() {
+        return chooser.choose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK)
+    public Integer[] chooseBulk() {
+        chooser.choose(BULK, out);
+        return out;
+    }
+
+    @Benchmark
+    public Integer weightedAlias() {
+        return weightedChooser.choose();
+    }
+
+    @Benchmark
+    public Integer weightedBinarySearch() {
+        double target = ThreadLocalRandom.current().nextDouble(cumulativeWeights[size - 1]);
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulativeWeights[mid] <= target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return list.get(low);
+    }
+}
@@ -0,0 +1,98 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 여러 스레드가 하나의 스택을 공유하면서 push 후 pop 을 반복할 때의 처리량.
+ * JMH 는 스레드 수를 @Param 으로 받을 수 없어서 하위 클래스마다 @Threads 를 다르게 준다.
+ * 미리 채워둔 원소 덕분에 pop 이 빈 스택을 만나지 않는다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public abstract class ConcurrentStackBenchmark {
+
+    private static final int PREFILL = 1024;
+
+    private GenericStackV2<Integer> synchronizedStack;
+    private ConcurrentGenericStack<Integer> treiberStack;
+    private ConcurrentGenericStack<Integer> eliminationStack;
+    private ConcurrentLinkedDeque<Integer> concurrentLinkedDeque;
+
+    @Setup
+    public void setUp() {
+        synchronizedStack = new GenericStackV2<>();
+        treiberStack = new ConcurrentGenericStack<>();
+        eliminationStack = new ConcurrentGenericStack<>(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        concurrentLinkedDeque = new ConcurrentLinkedDeque<>();
+        for (int i = 0; i < PREFILL; i++) {
+            synchronizedStack.push(i);
+            treiberStack.push(i);
+            eliminationStack.push(i);
+            concurrentLinkedDeque.push(i);
+        }
+    }
+
+    @Benchmark
+    public Integer synchronizedGenericStackV2() {
+        synchronized (synchronizedStack) {
+            synchronizedStack.push(1);
+        }
+        synchronized (synchronizedStack) {
+            return synchronizedStack.pop();
+        }
+    }
+
+    @Benchmark
+    public Integer treiber() {
+        treiberStack.push(1);
+        return treiberStack.pop();
+    }
+
+    @Benchmark
+    public Integer treiberWithElimination() {
+        eliminationStack.push(1);
+        return eliminationStack.pop();
+    }
+
+    @Benchmark
+    public Integer concurrentLinkedDeque() {
+        concurrentLinkedDeque.push(1);
+        return concurrentLinkedDeque.pop();
+    }
+
+    @Threads(1)
+    public static class OneThread extends ConcurrentStackBenchmark {
+
+    }
+
+    @Threads(4)
+    public static class FourThreads extends ConcurrentStackBenchmark {
+
+    }
+
+    @Threads(16)
+    public static class SixteenThreads extends ConcurrentStackBenchmark {
+
+    }
+
+    @Threads(Threads.MAX)
+    public static class AllProcessors extends ConcurrentStackBenchmark {
+
+    }
+}
@@ -0,0 +1,95 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.ArrayDeque;
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * size 개를 push 한 뒤 모두 pop 하는 한 사이클의 비용. 스택 생성(확장 포함)도 측정에 포함된다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+    @Param({"16", "1024", "1048576"})
+    private int size;
+
+    @Benchmark
+    public long intStack() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long genericStackV2() {
+        GenericStackV2<Integer> stack = new GenericStackV2<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long genericStackV2Shrinking() {
+        GenericStackV2<Integer> stack = new GenericStackV2<>(16, ShrinkPolicy.QUARTER);
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long arrayDeque() {
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long javaUtilStack() {
+        Stack<Integer> stack = new Stack<>();
+        for (int i = 0; i < size; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,66 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RecursiveTypeExample.max 와 Collections.max, Stream.max, Selection 의 비교.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RecursiveTypeBenchmark {
+
+    @Param({"16", "1024", "1048576"})
+    private int size;
+
+    private List<Integer> numbers;
+
+    @Setup
+    public void setUp() {
+        numbers = new Random(42).ints(size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Optional<Integer> recursiveTypeMax() {
+        return RecursiveTypeExample.max(numbers);
+    }
+
+    @Benchmark
+    public Integer collectionsMax() {
+        return Collections.max(numbers);
+    }
+
+    @Benchmark
+    public Optional<Integer> streamMax() {
+        return numbers.stream().max(Integer::compare);
+    }
+
+    @Benchmark
+    public Integer selectionMax() {
+        return Selection.max(numbers);
+    }
+
+    @Benchmark
+    public Integer parallelSelectionMax() {
+        return Selection.parallelMax(numbers);
+    }
+}
@@ -0,0 +1,91 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * size 개 중 가장 큰 k 개를 고르는 비용. 전부 정렬하고 앞을 자르는 방식, PriorityQueue 와 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class TopKBenchmark {
+
+    @Param({"1048576", "16777216"})
+    private int size;
+
+    @Param({"10", "1000"})
+    private int k;
+
+    private int[] numbers;
+    private List<Integer> boxed;
+
+    @Setup
+    public void setUp() {
+        numbers = new Random(42).ints(size).toArray();
+        boxed = IntStream.of(numbers).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> sortedLimit() {
+        return boxed.stream().sorted(Comparator.reverseOrder()).limit(k).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public PriorityQueue<Integer> priorityQueue() {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k);
+        for (Integer n : boxed) {
+            if (heap.size() < k) {
+                heap.add(n);
+            } else if (n > heap.peek()) {
+                heap.poll();
+                heap.add(n);
+            }
+        }
+        return heap;
+    }
+
+    @Benchmark
+    public List<Integer> topKCollector() {
+        return boxed.stream().collect(Selection.topK(k));
+    }
+
+    @Benchmark
+    public List<Integer> parallelTopKCollector() {
+        return boxed.parallelStream().collect(Selection.topK(k));
+    }
+
+    @Benchmark
+    public int[] intSortedLimit() {
+        return IntStream.of(numbers).sorted().skip(size - k).toArray();
+    }
+
+    @Benchmark
+    public int[] intTopK() {
+        return Selection.topK(numbers, k);
+    }
+
+    @Benchmark
+    public int[] parallelIntTopK() {
+        return Selection.topK(IntStream.of(numbers).parallel(), k);
+    }
+}
@@ -0,0 +1,178 @@
+package com.learn.ej.chapter7.item42;
+
+import static com.learn.ej.chapter7.item42.Expression.constant;
+import static com.learn.ej.chapter7.item42.Expression.variable;
+import static com.learn.ej.chapter7.item42.Operation.DIVIDE;
+import static com.learn.ej.chapter7.item42.Operation.MINUS;
+import static com.learn.ej.chapter7.item42.Operation.PLUS;
+import static com.learn.ej.chapter7.item42.Operation.TIMES;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * (x0 + x1) * x2 - x3 / 8 을 rows 행에 계산하는 비용.
+ * <ul>
+ * <li>interpreted: 행마다 트리를 재귀로 계산한다.</li>
+ * <li>nodeByNode: 노드마다 전체 길이의 임시 배열을 만들어 Operation 배열 연산을 적용한다.</li>
+ * <li>compiledScalar / compiledColumnar / compiledParallel: CompiledExpression</li>
+ * <li>compiledScalarMixed / compiledColumnarMixed: 모양이 다른 식 여러 개를 먼저 컴파일해 계산해 본 뒤의
+ * CompiledExpression. 람다 안의 호출 지점이 다형이 된 상태를 잰다.</li>
+ * <li>handWritten: 같은 식을 직접 쓴 루프</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+    private static final Expression FORMULA = MINUS.of(
+        TIMES.of(PLUS.of(variable(0), variable(1)), variable(2)),
+        DIVIDE.of(variable(3), constant(8)));
+
+    // FORMULA 와 노드 모양이 겹치는 다른 식들
+    private static final Expression[] OTHER_FORMULAS = {
+        PLUS.of(TIMES.of(variable(0), variable(1)), MINUS.of(variable(2), variable(3))),
+        DIVIDE.of(PLUS.of(variable(0), constant(1)), TIMES.of(variable(1), variable(2))),
+        TIMES.of(MINUS.of(variable(3), variable(0)), PLUS.of(DIVIDE.of(variable(1), variable(2)), constant(2))),
+        MINUS.of(constant(10), TIMES.of(PLUS.of(variable(2), variable(3)), variable(1)))
+    };
+
+    @Param({"1024", "1048576"})
+    private int rows;
+
+    private double[][] columns;
+    private double[] row;
+    private double[] out;
+    private CompiledExpression compiled;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        columns = new double[4][];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = rnd.doubles(rows, 1, 2).toArray();
+        }
+        row = new double[4];
+        out = new double[rows];
+        compiled = FORMULA.compile();
+    }
+
+    @Benchmark
+    public double[] interpreted() {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = columns[j][i];
+            }
+            out[i] = FORMULA.interpret(row);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] compiledScalar() {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = columns[j][i];
+            }
+            out[i] = compiled.evaluate(row);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] compiledScalarMixed(Mixed mixed) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = columns[j][i];
+            }
+            out[i] = mixed.compiled.evaluate(row);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] nodeByNode() {
+        double[] sum = new double[rows];
+        PLUS.apply(columns[0], columns[1], sum);
+        double[] product = new double[rows];
+        TIMES.apply(sum, columns[2], product);
+        double[] quotient = new double[rows];
+        DIVIDE.apply(columns[3], 8, quotient);
+        MINUS.apply(product, quotient, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] compiledColumnar() {
+        compiled.evaluate(columns, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] compiledColumnarMixed(Mixed mixed) {
+        mixed.compiled.evaluate(columns, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] compiledParallel() {
+        compiled.parallelEvaluate(columns, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] handWritten() {
+        double[] x0 = columns[0];
+        double[] x1 = columns[1];
+        double[] x2 = columns[2];
+        double[] x3 = columns[3];
+        for (int i = 0; i < rows; i++) {
+            out[i] = (x0[i] + x1[i]) * x2[i] - x3[i] / 8;
+        }
+        return out;
+    }
+
+    /**
+     * OTHER_FORMULAS 를 컴파일해 행 단위와 열 단위로 충분히 계산해서 타입 프로파일을 섞은 뒤 FORMULA 를 컴파일한다.
+     * JMH 는 벤치마크마다 JVM 을 새로 띄우므로 이 상태를 쓰는 벤치마크에만 영향이 있다.
+     */
+    @State(Scope.Thread)
+    public static class Mixed {
+
+        private CompiledExpression compiled;
+        // 미리 계산한 결과를 버리지 않게 남겨 둔다.
+        private double sink;
+
+        @Setup
+        public void setUp(ExpressionBenchmark benchmark) {
+            double[] row = new double[4];
+            double[] out = new double[benchmark.rows];
+            for (Expression formula : OTHER_FORMULAS) {
+                CompiledExpression other = formula.compile();
+                for (int repeat = 0; repeat < 100_000; repeat++) {
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] = benchmark.columns[j][repeat % benchmark.rows];
+                    }
+                    sink += other.evaluate(row);
+                }
+                other.evaluate(benchmark.columns, out);
+            }
+            compiled = FORMULA.compile();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.learn.ej.chapter7.item42;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * size 개 원소에 Operation 을 적용하는 비용. megamorphic 은 네 연산을 번갈아 호출해서
+ * 람다 호출 지점의 타입 프로파일을 오염시킨 경우다. bulk 는 배열 API, parallelBulk 는 fork-join 경로다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class OperationBenchmark {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    @Param({"PLUS", "TIMES", "DIVIDE"})
+    private Operation operation;
+
+    @Param({"1024", "4194304"})
+    private int size;
+
+    private double[] x;
+    private double[] y;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        x = rnd.doubles(size).toArray();
+        y = rnd.doubles(size, 1, 2).toArray();
+        out = new double[size];
+    }
+
+    @Benchmark
+    public double[] apply() {
+        for (int i = 0; i < size; i++) {
+            out[i] = operation.apply(x[i], y[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] megamorphic() {
+        for (int i = 0; i < size; i++) {
+            out[i] = OPERATIONS[i & 3].apply(x[i], y[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] bulk() {
+        operation.apply(x, y, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] bulkBroadcast() {
+        operation.apply(x, 1.5, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] parallelBulk() {
+        operation.parallelApply(x, y, out);
+        return out;
+    }
+}
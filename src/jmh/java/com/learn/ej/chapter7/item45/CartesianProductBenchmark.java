@@ -0,0 +1,66 @@
+package com.learn.ej.chapter7.item45;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * size x size 격자를 만드는 비용. flatMap 은 바깥 스트림만 나뉘고 크기를 모르지만,
+ * CartesianProduct 는 전체 번호 구간을 반씩 나누고 toArray 가 결과 배열을 한 번에 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CartesianProductBenchmark {
+
+    @Param({"64", "2048"})
+    private int size;
+
+    private List<Integer> axis;
+
+    @Setup
+    public void setUp() {
+        axis = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object[] flatMap() {
+        return axis.stream()
+            .flatMap(x -> axis.stream().map(y -> x * 31 + y))
+            .toArray();
+    }
+
+    @Benchmark
+    public Object[] product() {
+        return CartesianProduct.of(axis, axis, (x, y) -> x * 31 + y).toArray();
+    }
+
+    @Benchmark
+    public Object[] parallelFlatMap() {
+        return axis.parallelStream()
+            .flatMap(x -> axis.stream().map(y -> x * 31 + y))
+            .toArray();
+    }
+
+    @Benchmark
+    public Object[] parallelProduct() {
+        return CartesianProduct.of(axis, axis, (x, y) -> x * 31 + y)
+            .parallel()
+            .toArray();
+    }
+}
@@ -0,0 +1,40 @@
+package com.learn.ej.chapter7.item45;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 52장 덱을 for 문, flatMap 스트림, CartesianProduct 로 만드는 비용의 비교.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    @Benchmark
+    public List<Item45.Card> forLoop() {
+        return Item45.newDeckUsingForLoop();
+    }
+
+    @Benchmark
+    public List<Item45.Card> stream() {
+        return Item45.newDeckUsingStream();
+    }
+
+    @Benchmark
+    public List<Item45.Card> product() {
+        return Item45.newDeckUsingProduct();
+    }
+}
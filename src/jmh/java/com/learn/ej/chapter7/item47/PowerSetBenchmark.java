@@ -0,0 +1,77 @@
+package com.learn.ej.chapter7.item47;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 부분집합마다 원소 합을 구해 가장 큰 값을 찾는 비용. 모든 부분집합을 HashSet 으로 미리 만드는 방식과
+ * 비트마스크 뷰를 순차/병렬로 훑는 방식을 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class PowerSetBenchmark {
+
+    @Param({"16", "20"})
+    private int size;
+
+    private Set<Integer> source;
+
+    @Setup
+    public void setUp() {
+        source = IntStream.range(0, size).boxed().collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public long eager() {
+        List<Integer> elements = new ArrayList<>(source);
+        List<Set<Integer>> subsets = new ArrayList<>(1 << size);
+        for (int mask = 0; mask < 1 << size; mask++) {
+            Set<Integer> subset = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    subset.add(elements.get(i));
+                }
+            }
+            subsets.add(subset);
+        }
+        return subsets.stream().mapToLong(PowerSetBenchmark::sum).max().orElse(0);
+    }
+
+    @Benchmark
+    public long lazy() {
+        return PowerSet.stream(source).mapToLong(PowerSetBenchmark::sum).max().orElse(0);
+    }
+
+    @Benchmark
+    public long parallelLazy() {
+        return PowerSet.stream(source).parallel().mapToLong(PowerSetBenchmark::sum).max().orElse(0);
+    }
+
+    private static long sum(Set<Integer> subset) {
+        long sum = 0;
+        for (int e : subset) {
+            sum += e;
+        }
+        return sum;
+    }
+}
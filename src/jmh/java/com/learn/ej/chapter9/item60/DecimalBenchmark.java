@@ -0,0 +1,111 @@
+package com.learn.ej.chapter9.item60;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 금액(소수 둘째 자리) SIZE 개를 더하고, 단가 * 수량 / 환율 을 계산하는 비용.
+ * ScaledDecimal 의 덧셈은 결과 객체를, 누적기는 아무것도 만들지 않는다. BigDecimal 은 연산마다 객체를 만든다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DecimalBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private long[] cents;
+    private ScaledDecimal[] amounts;
+    private BigDecimal[] bigAmounts;
+    private ScaledDecimal rate;
+    private BigDecimal bigRate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cents = new long[SIZE];
+        amounts = new ScaledDecimal[SIZE];
+        bigAmounts = new BigDecimal[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            cents[i] = random.nextInt(1_000_000);
+            amounts[i] = ScaledDecimal.of(cents[i], 2);
+            bigAmounts[i] = BigDecimal.valueOf(cents[i], 2);
+        }
+        rate = ScaledDecimal.parse("1318.45");
+        bigRate = new BigDecimal("1318.45");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public long sumLongCents() {
+        long sum = 0;
+        for (long c : cents) {
+            sum += c;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public ScaledDecimal sumScaledDecimal() {
+        ScaledDecimal sum = ScaledDecimal.ZERO;
+        for (ScaledDecimal amount : amounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public ScaledDecimal sumAccumulator() {
+        ScaledDecimalAccumulator sum = new ScaledDecimalAccumulator(2);
+        for (ScaledDecimal amount : amounts) {
+            sum.add(amount);
+        }
+        return sum.get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public BigDecimal sumBigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal amount : bigAmounts) {
+            sum = sum.add(amount);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiplyDivideScaledDecimal(Blackhole bh) {
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(amounts[i].multiply(3).divide(rate, RoundingMode.HALF_EVEN));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void multiplyDivideBigDecimal(Blackhole bh) {
+        BigDecimal three = BigDecimal.valueOf(3);
+        for (int i = 0; i < SIZE; i++) {
+            bh.consume(bigAmounts[i].multiply(three).divide(bigRate, 2, RoundingMode.HALF_EVEN));
+        }
+    }
+}
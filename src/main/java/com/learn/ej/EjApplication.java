@@ -1,7 +1,10 @@
 package com.learn.ej;
 
+import com.learn.ej.chapter11.item79.example.CollectionMetricsBinder;
+import com.learn.ej.chapter7.item44.CacheMetricsBinder;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class EjApplication {
@@ -10,4 +13,16 @@ public class EjApplication {
 		SpringApplication.run(EjApplication.class, args);
 	}
 
+	// item44 캐시는 이 빈에 StatsCounter 를 등록하면 /actuator/metrics/cache.* 로 노출된다.
+	@Bean
+	public CacheMetricsBinder cacheMetricsBinder() {
+		return new CacheMetricsBinder();
+	}
+
+	// InstrumentedSet/InstrumentedMap 의 metrics() 를 이 빈에 등록하면 /actuator/metrics/collection.* 로 노출된다.
+	@Bean
+	public CollectionMetricsBinder collectionMetricsBinder() {
+		return new CollectionMetricsBinder();
+	}
+
 }
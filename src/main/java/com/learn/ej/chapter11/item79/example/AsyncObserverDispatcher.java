@@ -0,0 +1,292 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ObservableSet 의 알림을 관찰자별 bounded 큐에 넣고 executor 에서 꺼내 전달한다.
+ * <p>
+ * 한 관찰자의 큐는 한 번에 하나의 작업만 비우므로 관찰자별 순서는 유지된다.
+ * 쓰기 스레드는 큐에 넣는 비용만 내고, 느리거나 다른 스레드를 기다리는 관찰자(item79 사례 #2)가 있어도 묶이지 않는다.
+ * 관찰자별 큐는 등록한 ObservableSet 에 묶이므로 dispatcher 는 set 하나에만 사용한다.
+ * <p>
+ * 같은 관찰자를 여러 번 등록하면 큐 하나를 함께 쓰고, 등록 횟수만큼 해제해야 큐가 닫힌다.
+ * executor 가 작업을 거부하면 RejectedExecutionException 을 알림을 보낸 스레드로 그대로 던진다.
+ * 남은 알림은 큐에 그대로 있고, 다음 알림이 다시 예약을 시도한다. ObservableSet 은 다른 관찰자에게 모두 알린 뒤에 던진다.
+ * <p>
+ * 관찰자가 콜백 안에서 set 에 쓰면 그 알림은 큐를 비우는 스레드에서 들어온다. 이 스레드가 가득 찬 큐를 기다리면
+ * 그 큐를 비울 스레드가 없으므로, BLOCK 정책이어도 기다리지 않고 가장 오래된 알림을 버린다(dropped 로 집계).
+ * 관찰자가 던진 예외는 Error 를 포함해 failed 로 집계하고 다음 알림을 계속 전달한다.
+ */
+public class AsyncObserverDispatcher<E> {
+
+    private static final int DRAIN_BATCH = 64;
+
+    // 지금 관찰자 큐를 비우고 있는 스레드. 이 스레드는 가득 찬 큐를 기다리지 않는다.
+    private static final ThreadLocal<Boolean> DRAINING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final Executor executor;
+    private final int queueCapacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final ConcurrentMap<SetObserver<E>, Mailbox<E>> mailboxes = new ConcurrentHashMap<>();
+
+    public AsyncObserverDispatcher(Executor executor, int queueCapacity, BackpressurePolicy backpressurePolicy) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    public Optional<ObserverQueueMetrics> metricsOf(SetObserver<E> observer) {
+        return Optional.ofNullable(mailboxes.get(observer));
+    }
+
+    public int totalQueueDepth() {
+        int depth = 0;
+        for (Mailbox<E> mailbox : mailboxes.values()) {
+            depth += mailbox.queueDepth();
+        }
+        return depth;
+    }
+
+    // 참조 횟수는 compute 안에서만 바꾸므로 키 단위로 원자적이다.
+    void register(ObservableSet<E> set, SetObserver<E> observer) {
+        mailboxes.compute(observer, (o, mailbox) -> {
+            if (mailbox == null) {
+                return new Mailbox<>(set, observer, queueCapacity, executor);
+            }
+            mailbox.registrations++;
+            return mailbox;
+        });
+    }
+
+    // 마지막 등록이 해제되면 큐를 닫는다. 닫힌 큐에 남은 알림은 전달하지 않는다.
+    void release(SetObserver<E> observer) {
+        mailboxes.computeIfPresent(observer, (o, mailbox) -> {
+            if (--mailbox.registrations > 0) {
+                return mailbox;
+            }
+            mailbox.close();
+            return null;
+        });
+    }
+
+    void dispatch(SetObserver<E> observer, E element) {
+        Mailbox<E> mailbox = mailboxes.get(observer);
+        // 스냅샷을 읽은 뒤에 해제된 관찰자
+        if (mailbox == null) {
+            return;
+        }
+        mailbox.offer(element, backpressurePolicy);
+        mailbox.schedule();
+    }
+
+    private static final class Mailbox<E> implements ObserverQueueMetrics, Runnable {
+
+        private final ObservableSet<E> set;
+        private final SetObserver<E> observer;
+        private final Executor executor;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private int registrations = 1;
+
+        // 원소와 넣은 시각을 나란히 담는 원형 버퍼. 알림마다 감싸는 객체를 만들지 않는다.
+        private final Object[] elements;
+        private final long[] enqueuedAt;
+        private int head;
+        private int count;
+        private boolean closed;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private volatile long lastLagNanos;
+        private volatile long maxLagNanos;
+
+        private Mailbox(ObservableSet<E> set, SetObserver<E> observer, int capacity, Executor executor) {
+            this.set = set;
+            this.observer = observer;
+            this.executor = executor;
+            this.elements = new Object[capacity];
+            this.enqueuedAt = new long[capacity];
+        }
+
+        void offer(E element, BackpressurePolicy policy) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (count == elements.length) {
+                    switch (policy) {
+                        case BLOCK:
+                            if (!DRAINING.get()) {
+                                awaitNotFull();
+                                if (closed) {
+                                    return;
+                                }
+                                break;
+                            }
+                            // 큐를 비우는 스레드가 기다리면 영영 풀리지 않는다.
+                            removeFirst();
+                            dropped.increment();
+                            break;
+                        case DROP_OLDEST:
+                            removeFirst();
+                            dropped.increment();
+                            break;
+                        default:
+                            throw new IllegalStateException("observer queue is full");
+                    }
+                }
+                int tail = (head + count) % elements.length;
+                elements[tail] = element;
+                enqueuedAt[tail] = System.nanoTime();
+                count++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void awaitNotFull() {
+            try {
+                while (count == elements.length && !closed) {
+                    notFull.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for observer queue", e);
+            }
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // 되돌려 놓지 않으면 이 관찰자의 큐는 다시는 비워지지 않는다.
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            // executor 가 호출한 스레드에서 바로 실행할 수도 있으므로 이전 값을 되돌린다.
+            Boolean draining = DRAINING.get();
+            DRAINING.set(Boolean.TRUE);
+            try {
+                deliver(DRAIN_BATCH);
+            } finally {
+                DRAINING.set(draining);
+            }
+            scheduled.set(false);
+            // set(false) 직전에 들어온 알림은 아무도 예약하지 않았을 수 있다.
+            if (queueDepth() > 0) {
+                schedule();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliver(int maxBatch) {
+            for (int i = 0; i < maxBatch; i++) {
+                E element;
+                long lag;
+                lock.lock();
+                try {
+                    if (count == 0 || closed) {
+                        return;
+                    }
+                    element = (E) elements[head];
+                    lag = System.nanoTime() - enqueuedAt[head];
+                    removeFirst();
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+
+                recordLag(lag);
+                try {
+                    observer.added(set, element);
+                    delivered.increment();
+                } catch (Throwable e) {
+                    // 관찰자 하나의 실패가 큐 전체를 멈추게 하지 않는다. Error 가 빠져나가면 scheduled 가 true 로 남는다.
+                    failed.increment();
+                }
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                while (count > 0) {
+                    removeFirst();
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeFirst() {
+            elements[head] = null;
+            head = (head + 1) % elements.length;
+            count--;
+        }
+
+        // 이 메서드는 drain 하는 스레드 하나만 호출한다.
+        private void recordLag(long lag) {
+            lastLagNanos = lag;
+            if (lag > maxLagNanos) {
+                maxLagNanos = lag;
+            }
+        }
+
+        @Override
+        public int queueDepth() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public long delivered() {
+            return delivered.sum();
+        }
+
+        @Override
+        public long dropped() {
+            return dropped.sum();
+        }
+
+        @Override
+        public long failed() {
+            return failed.sum();
+        }
+
+        @Override
+        public long lastLagNanos() {
+            return lastLagNanos;
+        }
+
+        @Override
+        public long maxLagNanos() {
+            return maxLagNanos;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.learn.ej.chapter11.item79.example;
+
+/**
+ * 비동기 알림에서 관찰자별 큐가 가득 찼을 때 쓰기 스레드가 취할 동작.
+ */
+public enum BackpressurePolicy {
+
+    // 큐에 자리가 날 때까지 쓰기 스레드가 기다린다. 관찰자가 콜백 안에서 같은 set 에 쓰면
+    // 큐를 비우는 스레드는 기다리지 않고 가장 오래된 알림을 버린다.
+    BLOCK,
+
+    // 가장 오래된 알림을 버리고 새 알림을 넣는다. 버려진 수는 dropped 로 집계된다.
+    DROP_OLDEST,
+
+    // IllegalStateException 을 던진다. 원소는 이미 추가된 상태이고, 다른 관찰자에게 모두 알린 뒤에 던진다.
+    FAIL
+}
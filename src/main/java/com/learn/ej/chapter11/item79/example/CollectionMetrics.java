@@ -0,0 +1,44 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 계측하는 컬렉션 하나의 연산별 OperationTimer 묶음. 연산 목록은 만들 때 정해지고 바뀌지 않는다.
+ * CollectionMetricsBinder 에 등록하면 /actuator/metrics 로 노출된다.
+ */
+public final class CollectionMetrics {
+
+    private final String name;
+    private final Map<String, OperationTimer> timers;
+
+    CollectionMetrics(String name, int sampleInterval, String... operations) {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("sampleInterval must be a power of two: " + sampleInterval);
+        }
+        this.name = name;
+        Map<String, OperationTimer> map = new LinkedHashMap<>();
+        for (String operation : operations) {
+            map.put(operation, new OperationTimer(operation, sampleInterval));
+        }
+        this.timers = Collections.unmodifiableMap(map);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public OperationTimer timer(String operation) {
+        OperationTimer timer = timers.get(operation);
+        if (timer == null) {
+            throw new IllegalArgumentException("unknown operation: " + operation);
+        }
+        return timer;
+    }
+
+    public Collection<OperationTimer> timers() {
+        return timers.values();
+    }
+}
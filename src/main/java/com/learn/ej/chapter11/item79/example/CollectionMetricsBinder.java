@@ -0,0 +1,152 @@
+package com.learn.ej.chapter11.item79.example;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InstrumentedSet / InstrumentedMap 의 CollectionMetrics 를 Micrometer 에 노출한다.
+ * <ul>
+ * <li>collection.operations: 연산별 (추정) 호출 수와 전체 시간</li>
+ * <li>collection.operations.sampled: 연산별로 지연 시간을 잰 호출 수</li>
+ * <li>collection.operation.latency: 최근 1~2 분 동안의 연산별 p50 / p99 / p999 / max 지연 시간(초)</li>
+ * </ul>
+ * 등록 방식과 바인딩 시점은 item44 의 CacheMetricsBinder 와 같다. 미터는 조회될 때만 스냅샷을 읽고,
+ * 한 연산의 미터 여섯 개는 한 번의 조회(scrape) 동안 같은 스냅샷을 나눠 쓴다.
+ * 수명이 짧은 컬렉션은 다 쓴 뒤에 unregister 해야 binder 와 MeterRegistry 에 남지 않는다.
+ */
+public class CollectionMetricsBinder implements MeterBinder {
+
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    // 한 번의 조회 동안 스냅샷을 다시 쓰는 시간. 조회 주기보다 충분히 짧아야 한다.
+    private static final long SNAPSHOT_REUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // 등록/해제/바인딩은 드물게 일어나므로 this 로 동기화한다.
+    private final Map<String, Binding> collections = new HashMap<>();
+    private MeterRegistry registry;
+
+    public synchronized void register(CollectionMetrics metrics) {
+        if (collections.containsKey(metrics.name())) {
+            throw new IllegalArgumentException("collection already registered: " + metrics.name());
+        }
+        Binding binding = new Binding(metrics);
+        collections.put(metrics.name(), binding);
+        if (registry != null) {
+            binding.bindTo(registry);
+        }
+    }
+
+    // 등록을 지우고 MeterRegistry 에서 이 컬렉션의 미터도 지운다. 등록되어 있었으면 true
+    public synchronized boolean unregister(String collectionName) {
+        Binding binding = collections.remove(collectionName);
+        if (binding == null) {
+            return false;
+        }
+        if (registry != null) {
+            binding.removeFrom(registry);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        collections.values().forEach(binding -> binding.bindTo(registry));
+    }
+
+    private static final class Binding {
+
+        private final CollectionMetrics metrics;
+        private final List<Meter> meters = new ArrayList<>();
+
+        private Binding(CollectionMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        void bindTo(MeterRegistry registry) {
+            for (OperationTimer timer : metrics.timers()) {
+                bindTo(registry, new Readings(timer));
+            }
+        }
+
+        void removeFrom(MeterRegistry registry) {
+            meters.forEach(registry::remove);
+            meters.clear();
+        }
+
+        private void bindTo(MeterRegistry registry, Readings readings) {
+            String operation = readings.timer.operation();
+            meters.add(FunctionTimer.builder("collection.operations", readings,
+                    r -> r.current().cumulative.count() * r.timer.sampleInterval(),
+                    r -> r.current().cumulative.totalNanos() * r.timer.sampleInterval(),
+                    TimeUnit.NANOSECONDS)
+                .tags("collection", metrics.name(), "operation", operation)
+                .description("The estimated number and total time of collection operations.")
+                .register(registry));
+            meters.add(FunctionCounter.builder("collection.operations.sampled", readings,
+                    r -> r.current().cumulative.count())
+                .tags("collection", metrics.name(), "operation", operation)
+                .description("The number of operations whose latency was recorded.")
+                .register(registry));
+
+            for (double percentile : PERCENTILES) {
+                meters.add(Gauge.builder("collection.operation.latency", readings,
+                        r -> r.current().recent.valueAtPercentile(percentile) / 1e9)
+                    .tags("collection", metrics.name(), "operation", operation,
+                        "percentile", Double.toString(percentile))
+                    .baseUnit("seconds")
+                    .description("The recent latency of sampled collection operations at a percentile.")
+                    .register(registry));
+            }
+            meters.add(Gauge.builder("collection.operation.latency", readings,
+                    r -> r.current().recent.maxNanos() / 1e9)
+                .tags("collection", metrics.name(), "operation", operation, "percentile", "max")
+                .baseUnit("seconds")
+                .description("The maximum recent latency of sampled collection operations.")
+                .register(registry));
+        }
+    }
+
+    // 연산 하나의 누적/최근 스냅샷을 SNAPSHOT_REUSE_NANOS 동안 다시 쓴다. 동시에 만들어도 결과만 하나 버려진다.
+    private static final class Readings {
+
+        private final OperationTimer timer;
+        private volatile Snapshots latest;
+
+        private Readings(OperationTimer timer) {
+            this.timer = timer;
+        }
+
+        Snapshots current() {
+            long now = System.nanoTime();
+            Snapshots s = latest;
+            if (s == null || now - s.takenAt >= SNAPSHOT_REUSE_NANOS) {
+                s = new Snapshots(timer.snapshot(), timer.recentSnapshot(), now);
+                latest = s;
+            }
+            return s;
+        }
+    }
+
+    private static final class Snapshots {
+
+        private final LatencyHistogram.Snapshot cumulative;
+        private final LatencyHistogram.Snapshot recent;
+        private final long takenAt;
+
+        private Snapshots(LatencyHistogram.Snapshot cumulative, LatencyHistogram.Snapshot recent, long takenAt) {
+            this.cumulative = cumulative;
+            this.recent = recent;
+            this.takenAt = takenAt;
+        }
+    }
+}
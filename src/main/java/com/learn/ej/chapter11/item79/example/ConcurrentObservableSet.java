@@ -0,0 +1,104 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * ConcurrentHashMap.newKeySet() 위에 만든 ObservableSet. 전역 모니터 없이 add/contains 가 동작한다.
+ * <p>
+ * 알림 보장: 원소 하나를 추가(제거)하는 데 성공한 스레드는 정확히 하나이고, 그 스레드만 알린다.
+ * 따라서 성공한 추가/제거는 정확히 한 번씩 알려진다. 스레드 사이의 알림 순서는 정해져 있지 않으며,
+ * 알림을 받는 시점에 그 원소가 이미 다른 스레드에 의해 제거되었을 수도 있다.
+ * <p>
+ * 큰 bulk 연산은 공용 ForkJoinPool 에서 병렬로 추가/제거하고, 알림은 호출한 스레드에서 한 번에 보낸다.
+ */
+public class ConcurrentObservableSet<E> extends ObservableSet<E> {
+
+    private static final int PARALLEL_THRESHOLD = 8_192;
+
+    // 알림 없이 접근하기 위한 원본 set
+    private final Set<E> backing;
+
+    public ConcurrentObservableSet() {
+        this(ConcurrentHashMap.newKeySet(), null);
+    }
+
+    public ConcurrentObservableSet(AsyncObserverDispatcher<E> asyncDispatcher) {
+        this(ConcurrentHashMap.newKeySet(), asyncDispatcher);
+    }
+
+    private ConcurrentObservableSet(Set<E> backing, AsyncObserverDispatcher<E> asyncDispatcher) {
+        super(backing, asyncDispatcher);
+        this.backing = backing;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c.size() < PARALLEL_THRESHOLD) {
+            return super.addAll(c);
+        }
+        List<E> added = c.parallelStream()
+            .filter(backing::add)
+            .collect(toList());
+        return notifyIfAdded(added);
+    }
+
+    // 이터레이터의 remove 는 성공 여부를 알려주지 않아서, 반환값이 있는 remove 로 제거한 것만 모은다.
+    // 인자 쪽을 순회하면 인자를 알린다. (SetBatchObserver 참고)
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        List<E> removed;
+        if (size() > c.size()) {
+            removed = (c.size() < PARALLEL_THRESHOLD ? c.stream() : c.parallelStream())
+                .filter(backing::remove)
+                .map(this::asElement)
+                .collect(toList());
+        } else {
+            removed = removeMatching(e -> c.contains(e));
+        }
+        return notifyIfRemoved(removed);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return notifyIfRemoved(removeMatching(e -> !c.contains(e)));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return notifyIfRemoved(removeMatching(filter));
+    }
+
+    @Override
+    public void clear() {
+        notifyIfRemoved(removeMatching(e -> true));
+    }
+
+    // 다른 스레드가 먼저 지운 원소는 알리지 않는다.
+    @Override
+    boolean removeLastReturned(Iterator<E> it, E element) {
+        return backing.remove(element);
+    }
+
+    private List<E> removeMatching(Predicate<? super E> filter) {
+        if (backing.size() < PARALLEL_THRESHOLD) {
+            List<E> removed = new ArrayList<>();
+            for (E element : backing) {
+                if (filter.test(element) && backing.remove(element)) {
+                    removed.add(element);
+                }
+            }
+            return removed;
+        }
+        return backing.parallelStream()
+            .filter(e -> filter.test(e) && backing.remove(e))
+            .collect(toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Arrays;
+
+/**
+ * 읽기가 쓰기보다 훨씬 많은 관찰자 목록. 등록/해제할 때만 배열을 복사하고,
+ * 알림 쪽은 volatile 읽기 한 번으로 불변 스냅샷을 얻는다. (락도, 할당도 없다)
+ */
+final class CopyOnWriteObserverRegistry<O> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    // 한번 공개된 배열은 절대 수정하지 않는다.
+    private volatile Object[] observers = EMPTY;
+
+    synchronized void add(O observer) {
+        Object[] current = observers;
+        Object[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = observer;
+        observers = next;
+    }
+
+    synchronized boolean remove(Object observer) {
+        Object[] current = observers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(observer)) {
+                Object[] next = new Object[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                observers = next.length == 0 ? EMPTY : next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 호출 시점의 관찰자 배열. 순회 도중 등록/해제가 일어나도 이 배열은 바뀌지 않는다.
+     * 원소 타입은 O 이지만 배열 자체는 Object[] 이므로 O[] 로 형변환하면 안 된다.
+     */
+    Object[] snapshot() {
+        return observers;
+    }
+
+    boolean isEmpty() {
+        return observers.length == 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 모든 메서드를 감싼 컬렉션에 그대로 넘기는 전달 클래스. (item 18)
+ * default 메서드(forEach, removeIf, spliterator, stream, parallelStream, toArray(IntFunction))도 넘긴다.
+ * 넘기지 않으면 Collection 의 기본 구현이 iterator 로 돌아서, 크기를 아는 spliterator 나
+ * ConcurrentHashMap 의 bulk 연산 같은 원본의 최적화가 감싼 뒤에 사라진다.
+ * 하위 클래스에서 재정의할 때는 default 메서드도 같이 살펴야 한다. (ObservableSet.removeIf 참고)
+ */
+public class ForwardingCollection<E> implements Collection<E> {
+
+    private final Collection<E> c;
+
+    public ForwardingCollection(Collection<E> c) {
+        this.c = c;
+    }
+
+    @Override
+    public int size() {
+        return c.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return c.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return c.contains(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return c.iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return c.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return c.toArray(a);
+    }
+
+    @Override
+    public <T> T[] toArray(IntFunction<T[]> generator) {
+        return c.toArray(generator);
+    }
+
+    @Override
+    public boolean add(E e) {
+        return c.add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return c.remove(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return this.c.containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return this.c.addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return this.c.retainAll(c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return this.c.removeAll(c);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return c.removeIf(filter);
+    }
+
+    @Override
+    public void clear() {
+        c.clear();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        c.forEach(action);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return c.spliterator();
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return c.stream();
+    }
+
+    @Override
+    public Stream<E> parallelStream() {
+        return c.parallelStream();
+    }
+
+    @Override
+    public String toString() {
+        return c.toString();
+    }
+}
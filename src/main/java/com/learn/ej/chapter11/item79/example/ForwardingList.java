@@ -0,0 +1,91 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.UnaryOperator;
+
+/**
+ * List 의 전달 클래스. replaceAll, sort 같은 default 메서드도 넘겨서 ArrayList 의 배열 기반 구현을 그대로 쓴다.
+ * 원본이 RandomAccess 여도 이 클래스는 RandomAccess 를 구현하지 않는다.
+ */
+public class ForwardingList<E> extends ForwardingCollection<E> implements List<E> {
+
+    private final List<E> list;
+
+    public ForwardingList(List<E> list) {
+        super(list);
+        this.list = list;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        return list.addAll(index, c);
+    }
+
+    @Override
+    public E get(int index) {
+        return list.get(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return list.set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        list.add(index, element);
+    }
+
+    @Override
+    public E remove(int index) {
+        return list.remove(index);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return list.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return list.lastIndexOf(o);
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return list.listIterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return list.listIterator(index);
+    }
+
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return list.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        list.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        list.sort(c);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || list.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return list.hashCode();
+    }
+}
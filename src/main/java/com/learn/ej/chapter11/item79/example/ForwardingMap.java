@@ -0,0 +1,151 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Map 의 전달 클래스. getOrDefault, putIfAbsent, compute, merge 같은 default 메서드도 모두 넘긴다.
+ * 넘기지 않으면 Map 의 기본 구현이 get 과 put 을 따로 불러서, ConcurrentHashMap 을 감쌌을 때 원자성이 깨진다.
+ */
+public class ForwardingMap<K, V> implements Map<K, V> {
+
+    private final Map<K, V> m;
+
+    public ForwardingMap(Map<K, V> m) {
+        this.m = m;
+    }
+
+    @Override
+    public int size() {
+        return m.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return m.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return m.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return m.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return m.get(key);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return m.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return m.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return m.remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        this.m.putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        m.clear();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return m.keySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return m.values();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return m.entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        m.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        m.replaceAll(function);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return m.putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return m.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        return m.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        return m.replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return m.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return m.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return m.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return m.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || m.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return m.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return m.toString();
+    }
+}
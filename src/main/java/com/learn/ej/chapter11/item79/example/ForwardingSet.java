@@ -1,80 +1,28 @@
 package com.learn.ej.chapter11.item79.example;
 
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
 
 /**
  * This class based item 18 contents
+ * <p>
+ * Set 에만 있는 규약인 equals/hashCode 도 넘긴다. 나머지는 ForwardingCollection 참고.
  */
-@RequiredArgsConstructor
-public class ForwardingSet<E> implements Set<E> {
+public class ForwardingSet<E> extends ForwardingCollection<E> implements Set<E> {
 
     private final Set<E> s;
 
-    @Override
-    public int size() {
-        return s.size();
-    }
-
-    @Override
-    public boolean isEmpty() {
-        return s.isEmpty();
-    }
-
-    @Override
-    public boolean contains(Object o) {
-        return s.contains(o);
-    }
-
-    @Override
-    public Iterator<E> iterator() {
-        return s.iterator();
-    }
-
-    @Override
-    public Object[] toArray() {
-        return s.toArray();
-    }
-
-    @Override
-    public <T> T[] toArray(T[] a) {
-        return s.toArray(a);
-    }
-
-    @Override
-    public boolean add(E e) {
-        return s.add(e);
-    }
-
-    @Override
-    public boolean remove(Object o) {
-        return s.remove(o);
-    }
-
-    @Override
-    public boolean containsAll(Collection<?> c) {
-        return s.containsAll(c);
-    }
-
-    @Override
-    public boolean addAll(Collection<? extends E> c) {
-        return s.addAll(c);
-    }
-
-    @Override
-    public boolean retainAll(Collection<?> c) {
-        return s.retainAll(c);
+    public ForwardingSet(Set<E> s) {
+        super(s);
+        this.s = s;
     }
 
     @Override
-    public boolean removeAll(Collection<?> c) {
-        return s.removeAll(c);
+    public boolean equals(Object o) {
+        return o == this || s.equals(o);
     }
 
     @Override
-    public void clear() {
-        s.clear();
+    public int hashCode() {
+        return s.hashCode();
     }
 }
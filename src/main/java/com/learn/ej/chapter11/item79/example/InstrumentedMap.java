@@ -0,0 +1,214 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 연산별 호출 수와 지연 시간을 재는 Map 데코레이터. InstrumentedSet 과 같은 방식이다.
+ * get 과 getOrDefault 는 "get" 으로, put 과 putIfAbsent 는 "put" 으로, 두 remove 는 "remove" 로,
+ * computeIfAbsent/computeIfPresent/compute 는 "compute" 로, 두 replace 는 "replace" 로 함께 센다.
+ * putAll/replaceAll 같은 bulk 연산과 keySet/values/entrySet 뷰를 거친 연산은 재지 않는다.
+ */
+public class InstrumentedMap<K, V> extends ForwardingMap<K, V> {
+
+    private final CollectionMetrics metrics;
+    private final OperationTimer getTimer;
+    private final OperationTimer containsKeyTimer;
+    private final OperationTimer putTimer;
+    private final OperationTimer removeTimer;
+    private final OperationTimer computeTimer;
+    private final OperationTimer mergeTimer;
+    private final OperationTimer replaceTimer;
+
+    public InstrumentedMap(Map<K, V> m, String name) {
+        this(m, name, 1);
+    }
+
+    // sampleInterval 은 2 의 거듭제곱이다. 1 이면 모든 호출을 잰다.
+    public InstrumentedMap(Map<K, V> m, String name, int sampleInterval) {
+        super(m);
+        this.metrics = new CollectionMetrics(name, sampleInterval,
+            "get", "containsKey", "put", "remove", "compute", "merge", "replace");
+        this.getTimer = metrics.timer("get");
+        this.containsKeyTimer = metrics.timer("containsKey");
+        this.putTimer = metrics.timer("put");
+        this.removeTimer = metrics.timer("remove");
+        this.computeTimer = metrics.timer("compute");
+        this.mergeTimer = metrics.timer("merge");
+        this.replaceTimer = metrics.timer("replace");
+    }
+
+    public CollectionMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (getTimer.skip()) {
+            return super.get(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.get(key);
+        } finally {
+            getTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        if (getTimer.skip()) {
+            return super.getOrDefault(key, defaultValue);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.getOrDefault(key, defaultValue);
+        } finally {
+            getTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (containsKeyTimer.skip()) {
+            return super.containsKey(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.containsKey(key);
+        } finally {
+            containsKeyTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (putTimer.skip()) {
+            return super.put(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.put(key, value);
+        } finally {
+            putTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        if (putTimer.skip()) {
+            return super.putIfAbsent(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.putIfAbsent(key, value);
+        } finally {
+            putTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (removeTimer.skip()) {
+            return super.remove(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.remove(key);
+        } finally {
+            removeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (removeTimer.skip()) {
+            return super.remove(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.remove(key, value);
+        } finally {
+            removeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (computeTimer.skip()) {
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.computeIfAbsent(key, mappingFunction);
+        } finally {
+            computeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (computeTimer.skip()) {
+            return super.computeIfPresent(key, remappingFunction);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.computeIfPresent(key, remappingFunction);
+        } finally {
+            computeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (computeTimer.skip()) {
+            return super.compute(key, remappingFunction);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.compute(key, remappingFunction);
+        } finally {
+            computeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (mergeTimer.skip()) {
+            return super.merge(key, value, remappingFunction);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.merge(key, value, remappingFunction);
+        } finally {
+            mergeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        if (replaceTimer.skip()) {
+            return super.replace(key, value);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.replace(key, value);
+        } finally {
+            replaceTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (replaceTimer.skip()) {
+            return super.replace(key, oldValue, newValue);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.replace(key, oldValue, newValue);
+        } finally {
+            replaceTimer.stop(start);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 연산별 호출 수와 지연 시간을 재는 Set 데코레이터. (item 18 의 InstrumentedSet 을 ForwardingSet 위에 다시 만든 것)
+ * 원소를 바꾸거나 찾는 연산만 재고, 순회와 size 같은 연산은 그대로 넘긴다.
+ * sampleInterval 을 크게 하면 대부분의 호출은 시간을 재지 않아서 contains 같은 짧은 연산에도 부담이 작다.
+ */
+public class InstrumentedSet<E> extends ForwardingSet<E> {
+
+    private final CollectionMetrics metrics;
+    private final OperationTimer containsTimer;
+    private final OperationTimer addTimer;
+    private final OperationTimer removeTimer;
+    private final OperationTimer containsAllTimer;
+    private final OperationTimer addAllTimer;
+    private final OperationTimer removeAllTimer;
+    private final OperationTimer retainAllTimer;
+    private final OperationTimer removeIfTimer;
+    private final OperationTimer clearTimer;
+
+    public InstrumentedSet(Set<E> s, String name) {
+        this(s, name, 1);
+    }
+
+    // sampleInterval 은 2 의 거듭제곱이다. 1 이면 모든 호출을 잰다.
+    public InstrumentedSet(Set<E> s, String name, int sampleInterval) {
+        super(s);
+        this.metrics = new CollectionMetrics(name, sampleInterval,
+            "contains", "add", "remove", "containsAll", "addAll", "removeAll", "retainAll", "removeIf", "clear");
+        this.containsTimer = metrics.timer("contains");
+        this.addTimer = metrics.timer("add");
+        this.removeTimer = metrics.timer("remove");
+        this.containsAllTimer = metrics.timer("containsAll");
+        this.addAllTimer = metrics.timer("addAll");
+        this.removeAllTimer = metrics.timer("removeAll");
+        this.retainAllTimer = metrics.timer("retainAll");
+        this.removeIfTimer = metrics.timer("removeIf");
+        this.clearTimer = metrics.timer("clear");
+    }
+
+    public CollectionMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (containsTimer.skip()) {
+            return super.contains(o);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.contains(o);
+        } finally {
+            containsTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (addTimer.skip()) {
+            return super.add(e);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.add(e);
+        } finally {
+            addTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (removeTimer.skip()) {
+            return super.remove(o);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.remove(o);
+        } finally {
+            removeTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (containsAllTimer.skip()) {
+            return super.containsAll(c);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.containsAll(c);
+        } finally {
+            containsAllTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (addAllTimer.skip()) {
+            return super.addAll(c);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.addAll(c);
+        } finally {
+            addAllTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (removeAllTimer.skip()) {
+            return super.removeAll(c);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.removeAll(c);
+        } finally {
+            removeAllTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (retainAllTimer.skip()) {
+            return super.retainAll(c);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.retainAll(c);
+        } finally {
+            retainAllTimer.stop(start);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        if (removeIfTimer.skip()) {
+            return super.removeIf(filter);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.removeIf(filter);
+        } finally {
+            removeIfTimer.stop(start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (clearTimer.skip()) {
+            super.clear();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            super.clear();
+        } finally {
+            clearTimer.stop(start);
+        }
+    }
+}
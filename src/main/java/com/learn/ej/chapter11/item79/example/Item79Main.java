@@ -16,7 +16,7 @@ public class Item79Main {
             set.add(i);
         }
 
-        // 외계인 메서드 사례 #1 ConcurrentModificationException 발생
+        // 외계인 메서드 사례 #1 ConcurrentModificationException 발생 -> copy-on-write 스냅샷을 순회하므로 해결
         set.addObserver(new SetObserver<>() {
             public void added(ObservableSet<Integer> s, Integer e) {
                 System.out.println(e);
@@ -26,7 +26,7 @@ public class Item79Main {
             }
         });
 
-        // 외계인 메서드 사레 #2 DeadLock 발생
+        // 외계인 메서드 사레 #2 DeadLock 발생 -> 알림 중에 락을 잡고 있지 않으므로 해결
         set.addObserver(new SetObserver<>() {
             @Override
             public void added(ObservableSet<Integer> s, Integer e) {
@@ -0,0 +1,184 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 나노초 지연 시간을 로그 간격 구간에 세는 lock-free 히스토그램. (HdrHistogram 과 같은 구간 방식)
+ * 2 의 거듭제곱 구간마다 SUB_BUCKET_COUNT 개로 나누므로, 구간으로 돌려주는 값의 상대 오차는 1/32 이하다.
+ * 32ns 보다 작은 값은 정확히 세고, 2^36ns(약 69초) 이상은 마지막 구간에 넣는다.
+ * record 는 락 없이 원자적 증가 두세 번으로 끝나고, 크기는 기록 수와 상관없이 1024 칸으로 고정이다.
+ * <p>
+ * snapshot 은 시작부터의 누적값이고, recentSnapshot 은 최근 1~2 구간(window)에 기록된 값만 담는다.
+ * 누적 카운터는 줄어들지 않으므로 구간이 바뀔 때마다 누적 스냅샷을 기준점으로 남겨 두고 그 차이를 돌려준다.
+ * 기록 경로는 그대로이고 구간을 넘기는 일은 읽는 쪽이 한다. 읽기가 한 구간보다 뜸하면 그만큼 긴 구간이 잡힌다.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+    static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+    static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private final long windowNanos;
+    private final LongSupplier ticker;
+    private volatile Window window;
+
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW, System::nanoTime);
+    }
+
+    public LatencyHistogram(Duration window, LongSupplier ticker) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+        Snapshot empty = new Snapshot(new long[BUCKET_COUNT], 0, 0, 0);
+        this.window = new Window(ticker.getAsLong(), empty, empty);
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        counts.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        // 최댓값은 거의 바뀌지 않으므로 읽기만 하고 넘어가는 경우가 대부분이다.
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    // 기록하는 동안 읽으면 구간끼리 조금 어긋날 수 있지만, 각 구간의 값은 줄어들지 않는다.
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    // 직전 구간이 시작된 뒤로 기록된 값. 구간이 막 바뀐 직후에도 비어 있지 않도록 한 구간을 더 얹는다.
+    public Snapshot recentSnapshot() {
+        Snapshot current = snapshot();
+        long now = ticker.getAsLong();
+        Window w = window;
+        if (now - w.startNanos >= windowNanos) {
+            synchronized (this) {
+                w = window;
+                if (now - w.startNanos >= windowNanos) {
+                    w = new Window(now, w.currentBaseline, current);
+                    window = w;
+                }
+            }
+        }
+        return current.minus(w.previousBaseline);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    // index 구간에 들어가는 가장 큰 값
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long mantissa = SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1));
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long totalNanos() {
+            return totalNanos;
+        }
+
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        // earlier 이후에 늘어난 만큼. 최댓값은 늘어난 가장 높은 구간의 상한으로 잡는다.
+        Snapshot minus(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            long diffCount = 0;
+            long diffMax = 0;
+            for (int i = 0; i < counts.length; i++) {
+                // 두 스냅샷은 구간마다 따로 읽으므로 어긋날 수 있다.
+                diff[i] = Math.max(0, counts[i] - earlier.counts[i]);
+                diffCount += diff[i];
+                if (diff[i] > 0) {
+                    diffMax = Math.min(highestEquivalentValue(i), maxNanos);
+                }
+            }
+            return new Snapshot(diff, diffCount, Math.max(0, totalNanos - earlier.totalNanos), diffMax);
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        // percentile 은 0 ~ 100. 그 순위의 값이 들어 있는 구간의 상한을 돌려준다. 비어 있으면 0
+        public long valueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+
+    private static final class Window {
+
+        private final long startNanos;
+        private final Snapshot previousBaseline;
+        private final Snapshot currentBaseline;
+
+        private Window(long startNanos, Snapshot previousBaseline, Snapshot currentBaseline) {
+            this.startNanos = startNanos;
+            this.previousBaseline = previousBaseline;
+            this.currentBaseline = currentBaseline;
+        }
+    }
+}
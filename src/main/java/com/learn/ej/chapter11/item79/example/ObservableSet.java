@@ -2,66 +2,283 @@ package com.learn.ej.chapter11.item79.example;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 public class ObservableSet<E> extends ForwardingSet<E> {
 
-    private final List<SetObserver<E>> observers = new ArrayList<>();
+    private final CopyOnWriteObserverRegistry<SetObserver<E>> observers = new CopyOnWriteObserverRegistry<>();
+    private final CopyOnWriteObserverRegistry<SetBatchObserver<E>> batchObservers = new CopyOnWriteObserverRegistry<>();
+
+    // null 이면 add 를 호출한 스레드에서 바로 알린다.
+    private final AsyncObserverDispatcher<E> asyncDispatcher;
 
     public ObservableSet(Set<E> s) {
+        this(s, null);
+    }
+
+    public ObservableSet(Set<E> s, AsyncObserverDispatcher<E> asyncDispatcher) {
         super(s);
+        this.asyncDispatcher = asyncDispatcher;
     }
 
     public void addObserver(SetObserver<E> observer) {
-        synchronized (observers) {
-            observers.add(observer);
+        if (asyncDispatcher != null) {
+            asyncDispatcher.register(this, observer);
         }
+        observers.add(observer);
     }
 
     public boolean removeObserver(SetObserver<E> observer) {
-        synchronized (observers) {
-            return observers.remove(observer);
+        boolean removed = observers.remove(observer);
+        if (removed && asyncDispatcher != null) {
+            asyncDispatcher.release(observer);
         }
+        return removed;
+    }
+
+    public void addBatchObserver(SetBatchObserver<E> observer) {
+        batchObservers.add(observer);
+    }
+
+    public boolean removeBatchObserver(SetBatchObserver<E> observer) {
+        return batchObservers.remove(observer);
     }
 
     @Override
     public boolean add(E element) {
         boolean added = super.add(element);
         if (added) {
-            notifyElementAdded(element);
+            RuntimeException failure = notifyElementAdded(element);
+            if (!batchObservers.isEmpty()) {
+                notifyBatchAdded(Collections.singletonList(element));
+            }
+            rethrow(failure);
         }
 
         return added;
     }
 
+    // 원소별 관찰자도 모두 추가한 뒤에 한 번에 알린다. 관찰자 스냅샷은 연산당 한 번만 읽는다.
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        boolean result = false;
+        List<E> added = new ArrayList<>();
         for (E element : c) {
-            result |= add(element);
+            if (super.add(element)) {
+                added.add(element);
+            }
+        }
+        return notifyIfAdded(added);
+    }
+
+    // 이터레이터의 remove 로 지운 원소도 일괄 관찰자에게 알린다.
+    @Override
+    public Iterator<E> iterator() {
+        return new NotifyingIterator(super.iterator());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        boolean removed = super.remove(o);
+        if (removed && !batchObservers.isEmpty()) {
+            notifyBatchRemoved(Collections.singletonList(asElement(o)));
+        }
+        return removed;
+    }
+
+    // AbstractSet.removeAll 처럼 작은 쪽을 순회한다. 인자 쪽을 순회하면 인자를 알린다.
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        List<E> removed = new ArrayList<>();
+        if (size() > c.size()) {
+            for (Object o : c) {
+                if (super.remove(o)) {
+                    removed.add(asElement(o));
+                }
+            }
+        } else {
+            for (Iterator<E> it = super.iterator(); it.hasNext(); ) {
+                E element = it.next();
+                if (c.contains(element)) {
+                    it.remove();
+                    removed.add(element);
+                }
+            }
+        }
+        return notifyIfRemoved(removed);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        List<E> removed = new ArrayList<>();
+        for (Iterator<E> it = super.iterator(); it.hasNext(); ) {
+            E element = it.next();
+            if (!c.contains(element)) {
+                it.remove();
+                removed.add(element);
+            }
         }
-        return result;
+        return notifyIfRemoved(removed);
     }
 
-    // #1 외계인 메서드를 동기화 블록 안에서 호출하는 경우
-    private void notifyElementAdded(E element) {
-        synchronized (observers) {
-            for (SetObserver<E> observer : observers) {
-                observer.added(this, element);
+    // ForwardingSet 이 removeIf 를 원본에 바로 넘기므로, 재정의하지 않으면 제거가 알려지지 않는다.
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        List<E> removed = new ArrayList<>();
+        for (Iterator<E> it = super.iterator(); it.hasNext(); ) {
+            E element = it.next();
+            if (filter.test(element)) {
+                it.remove();
+                removed.add(element);
             }
         }
+        return notifyIfRemoved(removed);
     }
 
-    // #2 외계인 메서드를 동기화 블록 밖에서 호출하는 경우
-    private void notifyElementAddedIssueFixed(E element) {
-        List<SetObserver<E>> snapshot = null;
-        synchronized (observers) {
-            snapshot = new ArrayList<>(observers);
+    @Override
+    public void clear() {
+        if (batchObservers.isEmpty()) {
+            super.clear();
+            return;
         }
+        List<E> removed = new ArrayList<>(this);
+        super.clear();
+        notifyIfRemoved(removed);
+    }
 
-        for (SetObserver<E> observer : snapshot) {
-            observer.added(this, element);
+    // #1 동기화 블록 안에서 외계인 메서드를 호출하면 CME/교착상태가 발생하고,
+    // #2 동기화 블록 밖에서 호출하려고 add 마다 ArrayList 스냅샷을 만들면 할당 비용이 든다. (item79.md 참고)
+    // #3 copy-on-write 배열 스냅샷을 순회한다. 락과 할당이 없고, 콜백 안에서 등록/해제해도 안전하다.
+    // 비동기 모드에서 큐에 넣지 못한 실패는 돌려주기만 한다. 호출한 쪽이 나머지 알림을 모두 보낸 뒤에 던진다.
+    @SuppressWarnings("unchecked")
+    private RuntimeException notifyElementAdded(E element) {
+        RuntimeException failure = null;
+        for (Object observer : observers.snapshot()) {
+            if (asyncDispatcher == null) {
+                ((SetObserver<E>) observer).added(this, element);
+            } else {
+                failure = dispatch((SetObserver<E>) observer, element, failure);
+            }
+        }
+        return failure;
+    }
+
+    boolean notifyIfAdded(List<E> added) {
+        if (added.isEmpty()) {
+            return false;
+        }
+        RuntimeException failure = notifyElementsAdded(added);
+        notifyBatchAdded(Collections.unmodifiableList(added));
+        rethrow(failure);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RuntimeException notifyElementsAdded(List<E> elements) {
+        Object[] snapshot = observers.snapshot();
+        RuntimeException failure = null;
+        if (snapshot.length == 0) {
+            return null;
+        }
+        for (E element : elements) {
+            for (Object observer : snapshot) {
+                if (asyncDispatcher == null) {
+                    ((SetObserver<E>) observer).added(this, element);
+                } else {
+                    failure = dispatch((SetObserver<E>) observer, element, failure);
+                }
+            }
+        }
+        return failure;
+    }
+
+    // FAIL 정책의 IllegalStateException 이나 executor 의 RejectedExecutionException 이 나도 다른 관찰자에게는 알린다.
+    private RuntimeException dispatch(SetObserver<E> observer, E element, RuntimeException failure) {
+        try {
+            asyncDispatcher.dispatch(observer, element);
+        } catch (RuntimeException e) {
+            return failure == null ? e : failure;
+        }
+        return failure;
+    }
+
+    // 원소는 이미 추가되었고 알림도 모두 보냈으므로, 첫 번째 실패만 던진다.
+    private static void rethrow(RuntimeException failure) {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyBatchAdded(Collection<E> elements) {
+        for (Object observer : batchObservers.snapshot()) {
+            ((SetBatchObserver<E>) observer).added(this, elements);
+        }
+    }
+
+    boolean notifyIfRemoved(List<E> removed) {
+        if (removed.isEmpty()) {
+            return false;
+        }
+        notifyBatchRemoved(Collections.unmodifiableList(removed));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void notifyBatchRemoved(Collection<E> elements) {
+        for (Object observer : batchObservers.snapshot()) {
+            ((SetBatchObserver<E>) observer).removed(this, elements);
+        }
+    }
+
+    // 이터레이터가 마지막으로 돌려준 원소를 지운다. 실제로 지웠을 때만 true 를 돌려준다.
+    boolean removeLastReturned(Iterator<E> it, E element) {
+        it.remove();
+        return true;
+    }
+
+    // 제거에 성공했다면 o 는 이 set 의 원소와 equals 인 객체이므로 E 로 취급한다.
+    @SuppressWarnings("unchecked")
+    E asElement(Object o) {
+        return (E) o;
+    }
+
+    private final class NotifyingIterator implements Iterator<E> {
+
+        private final Iterator<E> it;
+        private E lastReturned;
+        private boolean canRemove;
+
+        private NotifyingIterator(Iterator<E> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public E next() {
+            lastReturned = it.next();
+            canRemove = true;
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            canRemove = false;
+            E element = lastReturned;
+            lastReturned = null;
+            if (removeLastReturned(it, element) && !batchObservers.isEmpty()) {
+                notifyBatchRemoved(Collections.singletonList(element));
+            }
         }
     }
 }
@@ -0,0 +1,20 @@
+package com.learn.ej.chapter11.item79.example;
+
+/**
+ * 비동기 알림에서 관찰자 하나에 대한 큐 지표. 값은 읽는 시점의 근사치이다.
+ */
+public interface ObserverQueueMetrics {
+
+    int queueDepth();
+
+    long delivered();
+
+    long dropped();
+
+    long failed();
+
+    // 큐에 넣은 시점부터 관찰자에게 전달되기 직전까지 걸린 시간
+    long lastLagNanos();
+
+    long maxLagNanos();
+}
@@ -0,0 +1,80 @@
+package com.learn.ej.chapter11.item79.example;
+
+/**
+ * 연산 하나의 호출 수와 지연 시간을 표본으로 잰다. sampleInterval 번에 한 번만 시간을 재고 세므로,
+ * 표본이 아닌 호출의 비용은 스레드별 칸의 int 증가 하나와 분기 하나다. 호출 수와 전체 시간은 표본에 간격을 곱한 추정값이다.
+ * <p>
+ * 칸은 스레드 id 로 고르고, 칸마다 캐시 라인 하나를 써서 다른 스레드와 다투지 않는다. 원자적 연산 없이 세므로
+ * 같은 칸을 쓰는 스레드끼리 가끔 수를 잃을 수 있는데, 그러면 표본이 조금 줄어 추정값이 그만큼 작아질 뿐이다.
+ * 간격마다 한 번씩 재므로 sampleInterval 과 같은 주기로 느려지는 호출 패턴은 치우쳐 잡힐 수 있다.
+ * 표본이 아닌 호출은 try/finally 와 nanoTime 없이 바로 위임하도록 두 갈래로 나눠 쓴다.
+ * <pre>
+ * if (timer.skip()) {
+ *     return ...;
+ * }
+ * long start = System.nanoTime();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(start);
+ * }
+ * </pre>
+ */
+public final class OperationTimer {
+
+    private static final int STRIPES = 32;
+    // int 16 개 = 64 바이트
+    private static final int STRIDE = 16;
+
+    private final String operation;
+    private final int sampleMask;
+    // 칸 i 의 호출 수는 calls[i * STRIDE] 에 있다. 모든 호출을 재면 쓰지 않는다.
+    private final int[] calls;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    OperationTimer(String operation, int sampleInterval) {
+        this.operation = operation;
+        this.sampleMask = sampleInterval - 1;
+        this.calls = sampleMask == 0 ? null : new int[STRIPES * STRIDE];
+    }
+
+    public String operation() {
+        return operation;
+    }
+
+    public int sampleInterval() {
+        return sampleMask + 1;
+    }
+
+    // 이번 호출을 재지 않으면 true
+    public boolean skip() {
+        if (sampleMask == 0) {
+            return false;
+        }
+        int slot = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+        return (++calls[slot] & sampleMask) != 0;
+    }
+
+    // start 는 skip 이 false 일 때 잰 System.nanoTime()
+    public void stop(long start) {
+        histogram.record(System.nanoTime() - start);
+    }
+
+    // 표본만 담은 히스토그램. 백분위수는 그대로 쓰고, 개수와 합은 estimated* 를 쓴다.
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    // 최근 1~2 분 동안의 표본. 지연 시간 게이지는 이쪽을 쓴다.
+    public LatencyHistogram.Snapshot recentSnapshot() {
+        return histogram.recentSnapshot();
+    }
+
+    public long estimatedCount() {
+        return histogram.snapshot().count() * sampleInterval();
+    }
+
+    public long estimatedTotalNanos() {
+        return histogram.snapshot().totalNanos() * sampleInterval();
+    }
+}
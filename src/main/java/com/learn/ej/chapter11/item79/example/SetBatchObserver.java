@@ -0,0 +1,19 @@
+package com.learn.ej.chapter11.item79.example;
+
+import java.util.Collection;
+
+/**
+ * 변경 연산 한 번에 콜백 한 번을 받는 관찰자. 실제로 추가/제거된 원소만 전달되며,
+ * 전달된 컬렉션은 읽기 전용이고 콜백이 끝난 뒤에는 참조하지 않는 것이 좋다.
+ * 비동기 모드에서도 호출한 스레드에서 바로 알린다.
+ * <p>
+ * remove(Object)/removeAll 로 지운 원소는 set 에 들어 있던 객체가 아니라 인자로 받은 객체일 수 있다.
+ * 이 객체는 set 이 지운 원소와 같다고 판정한 것(equals, 정렬된 set 이면 비교자 기준)이다.
+ * 저장된 객체를 찾으려고 set 을 한 번 더 뒤지지 않아서 제거 비용이 원본 set 과 같다.
+ */
+public interface SetBatchObserver<E> {
+
+    void added(ObservableSet<E> set, Collection<E> elements);
+
+    void removed(ObservableSet<E> set, Collection<E> elements);
+}
@@ -0,0 +1,186 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * long 을 박싱하지 않고 배열 하나에 담는 open addressing 해시 집합. 선형 탐사를 쓰고,
+ * 삭제할 때는 tombstone 대신 뒤 원소들을 당겨 와서 탐사 길이가 늘어나지 않게 한다.
+ * PhoneNumberKeys 로 압축한 번호의 중복 제거용이다. HashSet&lt;PhoneNumber&gt; 는 원소마다 노드와 객체를 만들지만
+ * 이 집합은 원소당 8 / loadFactor 바이트만 쓴다. 스레드 안전하지 않다.
+ */
+public class LongHashSet {
+
+    // 0 은 빈 칸 표시로 쓰기 때문에 따로 기억한다.
+    private long[] keys;
+    private boolean containsZero;
+    private int size;
+    private int mask;
+    private int maxFill;
+    private final float loadFactor;
+
+    public LongHashSet() {
+        this(LongHashing.DEFAULT_EXPECTED_SIZE, LongHashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongHashSet(int expectedSize) {
+        this(expectedSize, LongHashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongHashSet(int expectedSize, float loadFactor) {
+        this.loadFactor = LongHashing.checkLoadFactor(loadFactor);
+        allocate(LongHashing.tableSize(expectedSize, loadFactor));
+    }
+
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        size++;
+        if (occupied() > maxFill) {
+            rehash(LongHashing.grownTableSize(keys.length));
+        }
+        return true;
+    }
+
+    // 새로 추가된 개수를 돌려준다.
+    public int addAll(long[] keys) {
+        int added = 0;
+        for (long key : keys) {
+            if (add(key)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                size--;
+                shiftKeys(i);
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // 순서는 정해져 있지 않다.
+    public long[] toArray() {
+        long[] result = new long[size];
+        int[] index = {0};
+        forEach(key -> result[index[0]++] = key);
+        return result;
+    }
+
+    private int occupied() {
+        return containsZero ? size - 1 : size;
+    }
+
+    // pos 를 비운 뒤, 뒤따르는 묶음에서 pos 로 와야 할 원소를 당겨 온다.
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long current;
+            while (true) {
+                if ((current = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int slot = LongHashing.mix(current) & mask;
+                // slot 이 (last, pos] 바깥(순환 구간 기준)이면 last 로 옮길 수 있다.
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+        }
+    }
+
+    private void rehash(int tableSize) {
+        long[] old = keys;
+        allocate(tableSize);
+        for (long key : old) {
+            if (key != 0) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        this.keys = new long[tableSize];
+        this.mask = tableSize - 1;
+        this.maxFill = LongHashing.maxFill(tableSize, loadFactor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.learn.ej.chapter3.item14.example;
+
+// LongHashSet, LongIntHashMap 이 같이 쓰는 해시/크기 계산
+final class LongHashing {
+
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private LongHashing() {
+    }
+
+    // 압축 키는 하위 비트가 lineNum 이라 그대로 쓰면 몰린다. 골든 비율 곱으로 비트를 섞는다.
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    static float checkLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1: " + loadFactor);
+        }
+        return loadFactor;
+    }
+
+    static int tableSize(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        long needed = Math.max(2, (long) Math.ceil(expectedSize / (double) loadFactor));
+        if (needed > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    // 빈 칸이 최소 하나는 남아야 탐색이 끝난다.
+    static int maxFill(int tableSize, float loadFactor) {
+        return Math.min(tableSize - 1, (int) Math.ceil(tableSize * (double) loadFactor));
+    }
+
+    static int grownTableSize(int tableSize) {
+        if (tableSize >= MAX_TABLE_SIZE) {
+            throw new IllegalStateException("hash table is full: " + tableSize);
+        }
+        return tableSize << 1;
+    }
+}
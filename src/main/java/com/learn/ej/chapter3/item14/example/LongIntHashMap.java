@@ -0,0 +1,203 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.Arrays;
+
+/**
+ * long 키와 int 값을 박싱하지 않고 담는 open addressing 해시 맵. 탐사/삭제 방식은 LongHashSet 과 같다.
+ * 압축한 번호별 개수나 행 번호를 기억하는 데 쓴다. 스레드 안전하지 않다.
+ */
+public class LongIntHashMap {
+
+    private long[] keys;
+    private int[] values;
+    private boolean containsZeroKey;
+    private int zeroValue;
+    private int size;
+    private int mask;
+    private int maxFill;
+    private final float loadFactor;
+
+    public LongIntHashMap() {
+        this(LongHashing.DEFAULT_EXPECTED_SIZE, LongHashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        this(expectedSize, LongHashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongIntHashMap(int expectedSize, float loadFactor) {
+        this.loadFactor = LongHashing.checkLoadFactor(loadFactor);
+        allocate(LongHashing.tableSize(expectedSize, loadFactor));
+    }
+
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : defaultValue;
+        }
+        int i = find(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZeroKey : find(key) >= 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = insertionSlot(key);
+        values[i] = value;
+        if (keys[i] == 0) {
+            insertAt(i, key);
+        }
+    }
+
+    // 키가 없으면 0 에서 시작해서 delta 를 더하고, 더한 결과를 돌려준다.
+    public int addTo(long key, int delta) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                zeroValue = 0;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int i = insertionSlot(key);
+        if (keys[i] == 0) {
+            values[i] = delta;
+            insertAt(i, key);
+            return delta;
+        }
+        return values[i] += delta;
+    }
+
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return false;
+            }
+            containsZeroKey = false;
+            size--;
+            return true;
+        }
+        int i = find(key);
+        if (i < 0) {
+            return false;
+        }
+        size--;
+        shiftKeys(i);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZeroKey = false;
+        size = 0;
+    }
+
+    public void forEach(LongIntConsumer action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int find(long key) {
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    // key 가 있는 칸, 없으면 key 가 들어갈 빈 칸
+    private int insertionSlot(long key) {
+        int i = LongHashing.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0 && current != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insertAt(int i, long key) {
+        keys[i] = key;
+        size++;
+        if ((containsZeroKey ? size - 1 : size) > maxFill) {
+            rehash(LongHashing.grownTableSize(keys.length));
+        }
+    }
+
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long current;
+            while (true) {
+                if ((current = keys[pos]) == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int slot = LongHashing.mix(current) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(tableSize);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int tableSize) {
+        this.keys = new long[tableSize];
+        this.values = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.maxFill = LongHashing.maxFill(tableSize, loadFactor);
+    }
+
+    @FunctionalInterface
+    public interface LongIntConsumer {
+
+        void accept(long key, int value);
+    }
+}
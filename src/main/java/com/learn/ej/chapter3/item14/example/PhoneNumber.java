@@ -1,11 +1,17 @@
 package com.learn.ej.chapter3.item14.example;
 
+import com.learn.ej.processor.FusedComparator;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+// compareTo 와 같은 순서의 NATURAL_ORDER, lineNum 을 먼저 보는 BY_LINE_NUM 을 PhoneNumberComparators 에 만든다.
+@FusedComparator(name = "NATURAL_ORDER", keys = {"areaCode", "prefix", "lineNum"})
+@FusedComparator(name = "BY_LINE_NUM", keys = {"lineNum", "areaCode", "prefix"})
 @Getter
 @Builder
+@EqualsAndHashCode
 @RequiredArgsConstructor
 public class PhoneNumber implements Comparable<PhoneNumber> {
 
@@ -0,0 +1,385 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.RECORD_BYTES;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 힙에 다 올라가지 않는 PhoneNumber 를 compareTo 순서로 정렬해서 PhoneNumberFileFormat 파일로 쓴다.
+ * <ol>
+ * <li>입력을 메모리 예산만큼씩 잘라 압축 키로 radix sort 하고 임시 파일(run)로 내보낸다.
+ * run 하나를 정렬하고 쓰는 동안 다음 run 을 읽어 들인다.</li>
+ * <li>run 들을 힙으로 k-way merge 한다. run 이 너무 많으면 몇 단계에 나눠 merge 한다.</li>
+ * </ol>
+ * 압축할 수 없는 번호(PhoneNumberKeys 참고)는 정렬할 수 없다.
+ */
+public class PhoneNumberExternalSorter {
+
+    private static final long MIN_MEMORY_BUDGET_BYTES = 1 << 10;
+    private static final int MIN_IO_BUFFER_BYTES = 1 << 12;
+    private static final int MAX_IO_BUFFER_BYTES = 1 << 20;
+    private static final int MAX_FAN_IN = 1024;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long memoryBudgetBytes;
+    private final Path tempDirectory;
+    private final boolean distinct;
+    private final Executor executor;
+
+    private PhoneNumberExternalSorter(Builder builder) {
+        this.memoryBudgetBytes = builder.memoryBudgetBytes;
+        this.tempDirectory = builder.tempDirectory;
+        this.distinct = builder.distinct;
+        this.executor = builder.executor;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // 정렬해서 output 에 쓰고, 쓴 레코드 수를 돌려준다.
+    public long sort(Iterable<PhoneNumber> input, Path output) throws IOException {
+        Iterator<PhoneNumber> it = input.iterator();
+        return sort(new KeySource() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public long next() {
+                return PhoneNumberKeys.pack(it.next());
+            }
+        }, output);
+    }
+
+    // PhoneNumberFileFormat 파일을 정렬한다. 입력은 메모리 매핑해서 읽는다.
+    public long sort(Path input, Path output) throws IOException {
+        try (PhoneNumberFileReader reader = new PhoneNumberFileReader(input)) {
+            return sort(new KeySource() {
+                private long index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < reader.size();
+                }
+
+                @Override
+                public long next() {
+                    return reader.key(index++);
+                }
+            }, output);
+        }
+    }
+
+    private long sort(KeySource source, Path output) throws IOException {
+        // run 버퍼 두 개(채우는 것, 정렬하는 것)와 radix sort 의 보조 배열 하나가 예산을 나눠 쓴다.
+        int runCapacity = (int) Math.max(1, Math.min(MAX_ARRAY_SIZE, memoryBudgetBytes / RECORD_BYTES / 3));
+        long[][] buffers = new long[2][];
+        List<Path> runs = new ArrayList<>();
+        CompletableFuture<Void> pending = null;
+        try {
+            for (int turn = 0; ; turn ^= 1) {
+                if (buffers[turn] == null) {
+                    buffers[turn] = new long[runCapacity];
+                }
+                long[] buffer = buffers[turn];
+                int n = fill(source, buffer);
+                if (n == 0) {
+                    break;
+                }
+                if (pending == null && !source.hasNext()) {
+                    // 한 번에 다 들어오면 run 을 만들지 않고 바로 쓴다.
+                    return writeOutput(buffer, sortRun(buffer, n), output);
+                }
+
+                Path run = Files.createTempFile(tempDirectory, "phone-run-", ".bin");
+                runs.add(run);
+                await(pending);
+                pending = CompletableFuture.runAsync(() -> {
+                    try {
+                        spill(buffer, sortRun(buffer, n), run);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor);
+            }
+            await(pending);
+            if (runs.isEmpty()) {
+                return writeOutput(new long[0], 0, output);
+            }
+            // merge 하는 동안 run 버퍼를 GC 할 수 있게 놓아 준다.
+            buffers = null;
+            return merge(runs, output);
+        } finally {
+            await(pending == null ? null : pending.exceptionally(e -> null));
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private static int fill(KeySource source, long[] buffer) {
+        int n = 0;
+        while (n < buffer.length && source.hasNext()) {
+            buffer[n++] = source.next();
+        }
+        return n;
+    }
+
+    // 정렬하고, distinct 이면 중복을 지운 뒤 남은 개수를 돌려준다.
+    private int sortRun(long[] keys, int n) {
+        PhoneNumberRadixSorter.parallelSort(keys, n);
+        if (!distinct || n == 0) {
+            return n;
+        }
+        int unique = 1;
+        for (int i = 1; i < n; i++) {
+            if (keys[i] != keys[unique - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return unique;
+    }
+
+    private long writeOutput(long[] keys, int n, Path output) throws IOException {
+        try (PhoneNumberFileWriter writer = new PhoneNumberFileWriter(output)) {
+            for (int i = 0; i < n; i++) {
+                writer.writeKey(keys[i]);
+            }
+            return writer.count();
+        }
+    }
+
+    private void spill(long[] keys, int n, Path run) throws IOException {
+        try (RunWriter writer = new RunWriter(run, ioBufferBytes())) {
+            for (int i = 0; i < n; i++) {
+                writer.accept(keys[i]);
+            }
+        }
+    }
+
+    private long merge(List<Path> runs, Path output) throws IOException {
+        int fanIn = maxFanIn();
+        Deque<Path> queue = new ArrayDeque<>(runs);
+        while (queue.size() > fanIn) {
+            List<Path> group = new ArrayList<>(fanIn);
+            for (int i = 0; i < fanIn; i++) {
+                group.add(queue.removeFirst());
+            }
+            Path merged = Files.createTempFile(tempDirectory, "phone-run-", ".bin");
+            runs.add(merged);
+            try (RunWriter writer = new RunWriter(merged, ioBufferBytes())) {
+                mergeInto(group, writer);
+            }
+            for (Path run : group) {
+                Files.deleteIfExists(run);
+            }
+            queue.addLast(merged);
+        }
+        try (PhoneNumberFileWriter writer = new PhoneNumberFileWriter(output)) {
+            mergeInto(queue, writer::writeKey);
+            return writer.count();
+        }
+    }
+
+    private void mergeInto(Iterable<Path> group, KeySink sink) throws IOException {
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(Comparator.comparingLong(RunReader::current));
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            for (Path run : group) {
+                RunReader reader = new RunReader(run, ioBufferBytes());
+                readers.add(reader);
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+            boolean first = true;
+            long last = 0;
+            while (!heap.isEmpty()) {
+                RunReader reader = heap.poll();
+                long key = reader.current();
+                if (!distinct || first || key != last) {
+                    sink.accept(key);
+                    first = false;
+                    last = key;
+                }
+                if (reader.advance()) {
+                    heap.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private int ioBufferBytes() {
+        long bytes = Math.min(MAX_IO_BUFFER_BYTES, Math.max(MIN_IO_BUFFER_BYTES, memoryBudgetBytes / 16));
+        return (int) bytes & -RECORD_BYTES;
+    }
+
+    private int maxFanIn() {
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBudgetBytes / ioBufferBytes() - 1));
+    }
+
+    private static void await(CompletableFuture<?> future) throws IOException {
+        if (future == null) {
+            return;
+        }
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    private interface KeySource {
+
+        boolean hasNext();
+
+        long next();
+    }
+
+    private interface KeySink {
+
+        void accept(long key) throws IOException;
+    }
+
+    // run 파일은 헤더 없이 big-endian 키만 이어 붙인다.
+    private static final class RunWriter implements KeySink, Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        }
+
+        @Override
+        public void accept(long key) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(key);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long current;
+
+        RunReader(Path path, int bufferBytes) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferBytes).flip();
+        }
+
+        long current() {
+            return current;
+        }
+
+        boolean advance() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // 버퍼를 채우거나 파일 끝까지 읽는다.
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    return false;
+                }
+            }
+            current = buffer.getLong();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    public static class Builder {
+
+        private long memoryBudgetBytes = 64L << 20;
+        private Path tempDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+        private boolean distinct;
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        // run 정렬과 merge 버퍼가 쓰는 힙의 대략적인 상한
+        public Builder memoryBudgetBytes(long memoryBudgetBytes) {
+            if (memoryBudgetBytes < MIN_MEMORY_BUDGET_BYTES) {
+                throw new IllegalArgumentException(
+                    "memoryBudgetBytes must be at least " + MIN_MEMORY_BUDGET_BYTES + ": " + memoryBudgetBytes);
+            }
+            this.memoryBudgetBytes = memoryBudgetBytes;
+            return this;
+        }
+
+        public Builder tempDirectory(Path tempDirectory) {
+            this.tempDirectory = Objects.requireNonNull(tempDirectory);
+            return this;
+        }
+
+        // 같은 번호는 하나만 남긴다.
+        public Builder distinct() {
+            this.distinct = true;
+            return this;
+        }
+
+        // run 을 정렬하고 내보내는 작업을 실행한다.
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        public PhoneNumberExternalSorter build() {
+            return new PhoneNumberExternalSorter(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.learn.ej.chapter3.item14.example;
+
+/**
+ * PhoneNumber 바이너리 파일 형식. 모든 값은 big-endian 이다.
+ * <pre>
+ * 0  int   magic ("PNB1")
+ * 4  short version
+ * 6  short flags (FLAG_SORTED: 레코드가 compareTo 순서로 정렬되어 있다.)
+ * 8  long  레코드 수 (쓰는 중이면 -1)
+ * 16 long  레코드 * n (PhoneNumberKeys 로 압축한 키)
+ * </pre>
+ */
+final class PhoneNumberFileFormat {
+
+    static final int MAGIC = 0x504E4231;
+    static final short VERSION = 1;
+    static final short FLAG_SORTED = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = Long.BYTES;
+    static final long INCOMPLETE = -1;
+
+    private PhoneNumberFileFormat() {
+    }
+}
@@ -0,0 +1,167 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.FLAG_SORTED;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.HEADER_BYTES;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.MAGIC;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.RECORD_BYTES;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PhoneNumberFileFormat 파일을 메모리 매핑해서 힙에 올리지 않고 바로 읽는다.
+ * MappedByteBuffer 하나는 2GB 까지라서 레코드 구간을 1GB 씩 나눠 매핑한다.
+ * 절대 위치로만 읽기 때문에 여러 스레드가 같이 읽어도 된다.
+ * Java 11 에는 매핑을 바로 해제하는 공개 API 가 없어서 close() 뒤에도 매핑은 GC 될 때까지 남는다.
+ */
+public class PhoneNumberFileReader implements Closeable {
+
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long RECORDS_PER_SEGMENT = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+
+    private final FileChannel channel;
+    private final long size;
+    private final boolean sorted;
+    private final MappedByteBuffer[] segments;
+
+    public PhoneNumberFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // 헤더를 다 읽을 때까지 반복한다.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("not a phone number file: " + path);
+            }
+            short version = header.getShort();
+            if (version != VERSION) {
+                throw new IOException("unsupported version: " + version);
+            }
+            this.sorted = (header.getShort() & FLAG_SORTED) != 0;
+            this.size = header.getLong();
+            if (size < 0 || channel.size() < HEADER_BYTES + size * RECORD_BYTES) {
+                throw new IOException("incomplete phone number file: " + path);
+            }
+
+            int segmentCount = (int) ((size + RECORDS_PER_SEGMENT - 1) >>> SEGMENT_SHIFT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = s * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, size - first);
+                segments[s] = channel.map(MapMode.READ_ONLY, HEADER_BYTES + first * RECORD_BYTES,
+                    records * RECORD_BYTES);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public long key(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) * RECORD_BYTES);
+    }
+
+    public int areaCode(long index) {
+        return PhoneNumberKeys.areaCode(key(index));
+    }
+
+    public int prefix(long index) {
+        return PhoneNumberKeys.prefix(key(index));
+    }
+
+    public int lineNum(long index) {
+        return PhoneNumberKeys.lineNum(key(index));
+    }
+
+    public PhoneNumber get(long index) {
+        return PhoneNumberKeys.unpack(key(index));
+    }
+
+    // Arrays.binarySearch 와 같은 규칙: 찾으면 위치, 없으면 -(들어갈 위치) - 1
+    public long binarySearch(PhoneNumber pn) {
+        checkSorted();
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int result = compare(key(mid), pn);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    // PhoneNumber.compareTo 와 같은 순서. 압축할 수 없는 pn 도 비교할 수 있게 필드끼리 비교한다.
+    private static int compare(long key, PhoneNumber pn) {
+        int result = Integer.compare(PhoneNumberKeys.areaCode(key), pn.getAreaCode());
+        if (result == 0) {
+            result = Integer.compare(PhoneNumberKeys.prefix(key), pn.getPrefix());
+            if (result == 0) {
+                result = Integer.compare(PhoneNumberKeys.lineNum(key), pn.getLineNum());
+            }
+        }
+        return result;
+    }
+
+    // key 이상인 첫 레코드의 위치
+    public long lowerBound(long key) {
+        checkSorted();
+        long low = 0;
+        long high = size;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (key(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long count(int areaCode, int prefix) {
+        if (!PhoneNumberKeys.isPackable(areaCode, prefix, 0)) {
+            return 0;
+        }
+        long from = lowerBound(PhoneNumberKeys.pack(areaCode, prefix, 0));
+        long to = PhoneNumberKeys.pack(areaCode, prefix, PhoneNumberKeys.MAX_LINE_NUM);
+        return (to == Long.MAX_VALUE ? size : lowerBound(to + 1)) - from;
+    }
+
+    private void checkSorted() {
+        if (!sorted) {
+            throw new IllegalStateException("file is not sorted");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.FLAG_SORTED;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.HEADER_BYTES;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.INCOMPLETE;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.MAGIC;
+import static com.learn.ej.chapter3.item14.example.PhoneNumberFileFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PhoneNumberFileFormat 으로 파일을 쓴다. 레코드 수와 정렬 여부는 close() 할 때 헤더에 기록하므로
+ * close() 하지 않은 파일은 PhoneNumberFileReader 가 읽지 않는다.
+ */
+public class PhoneNumberFileWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long count;
+    private long lastKey = Long.MIN_VALUE;
+    private boolean sorted = true;
+    private boolean closed;
+
+    public PhoneNumberFileWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            writeHeader(INCOMPLETE, false);
+            channel.position(HEADER_BYTES);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public void write(PhoneNumber pn) throws IOException {
+        writeKey(PhoneNumberKeys.pack(pn));
+    }
+
+    public void write(int areaCode, int prefix, int lineNum) throws IOException {
+        writeKey(PhoneNumberKeys.pack(areaCode, prefix, lineNum));
+    }
+
+    void writeKey(long key) throws IOException {
+        if (closed) {
+            throw new IOException("writer is closed");
+        }
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putLong(key);
+        if (key < lastKey) {
+            sorted = false;
+        }
+        lastKey = key;
+        count++;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            flush();
+            writeHeader(count, sorted);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeHeader(long recordCount, boolean sorted) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+            .putInt(MAGIC)
+            .putShort(VERSION)
+            .putShort(sorted ? FLAG_SORTED : 0)
+            .putLong(recordCount)
+            .flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+}
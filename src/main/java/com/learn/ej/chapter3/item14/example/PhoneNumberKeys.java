@@ -0,0 +1,58 @@
+package com.learn.ej.chapter3.item14.example;
+
+/**
+ * PhoneNumber 를 long 하나로 압축한 키. 상위부터 areaCode(16비트) | prefix(16비트) | lineNum(31비트) 순서로
+ * 담기 때문에 부호 비트는 항상 0 이고, 키의 long 비교 결과가 PhoneNumber.compareTo 와 같다.
+ * 범위를 벗어난 값(음수, 65535 를 넘는 areaCode/prefix)은 압축할 수 없다.
+ */
+public final class PhoneNumberKeys {
+
+    public static final int MAX_AREA_CODE = (1 << 16) - 1;
+    public static final int MAX_PREFIX = (1 << 16) - 1;
+    public static final int MAX_LINE_NUM = Integer.MAX_VALUE;
+
+    private static final int LINE_NUM_BITS = 31;
+    private static final int PREFIX_SHIFT = LINE_NUM_BITS;
+    private static final int AREA_CODE_SHIFT = LINE_NUM_BITS + 16;
+
+    private PhoneNumberKeys() {
+    }
+
+    public static boolean isPackable(int areaCode, int prefix, int lineNum) {
+        return areaCode >= 0 && areaCode <= MAX_AREA_CODE
+            && prefix >= 0 && prefix <= MAX_PREFIX
+            && lineNum >= 0;
+    }
+
+    public static boolean isPackable(PhoneNumber pn) {
+        return isPackable(pn.getAreaCode(), pn.getPrefix(), pn.getLineNum());
+    }
+
+    public static long pack(int areaCode, int prefix, int lineNum) {
+        if (!isPackable(areaCode, prefix, lineNum)) {
+            throw new IllegalArgumentException(
+                "phone number out of packable range: " + areaCode + "-" + prefix + "-" + lineNum);
+        }
+        return (long) areaCode << AREA_CODE_SHIFT | (long) prefix << PREFIX_SHIFT | lineNum;
+    }
+
+    public static long pack(PhoneNumber pn) {
+        return pack(pn.getAreaCode(), pn.getPrefix(), pn.getLineNum());
+    }
+
+    public static int areaCode(long key) {
+        return (int) (key >>> AREA_CODE_SHIFT);
+    }
+
+    public static int prefix(long key) {
+        return (int) (key >>> PREFIX_SHIFT) & MAX_PREFIX;
+    }
+
+    public static int lineNum(long key) {
+        return (int) key & MAX_LINE_NUM;
+    }
+
+    public static PhoneNumber unpack(long key) {
+        return new PhoneNumber(areaCode(key), prefix(key), lineNum(key));
+    }
+}
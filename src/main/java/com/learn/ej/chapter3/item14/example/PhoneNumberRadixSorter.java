@@ -0,0 +1,188 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * PhoneNumberKeys 로 압축한 키를 LSD radix sort 로 정렬한다. (11비트씩 최대 6번, 모든 키의 자릿수가 같은 패스는 건너뛴다.)
+ * LSD radix sort 는 안정 정렬이라 결과는 Collections.sort(list) 와 원소 하나하나까지 같다.
+ * 압축할 수 없는 번호가 하나라도 있으면 비교 정렬로 대신한다.
+ */
+public final class PhoneNumberRadixSorter {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int RADIX_BITS = 11;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+    private static final int PASSES = (Long.SIZE + RADIX_BITS - 1) / RADIX_BITS;
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private PhoneNumberRadixSorter() {
+    }
+
+    public static void sort(List<PhoneNumber> list) {
+        sort(list, false);
+    }
+
+    public static void parallelSort(List<PhoneNumber> list) {
+        sort(list, true);
+    }
+
+    // list 를 정렬했을 때 i 번째에 올 원소의 원래 위치. list 는 바꾸지 않는다.
+    public static int[] sortedIndices(List<PhoneNumber> list) {
+        return sortedIndices(list, false);
+    }
+
+    public static int[] parallelSortedIndices(List<PhoneNumber> list) {
+        return sortedIndices(list, true);
+    }
+
+    // 임의의 long 배열을 Arrays.sort 와 같은 순서로 정렬한다.
+    public static void sort(long[] keys) {
+        radixSort(keys, keys.length, null, false);
+    }
+
+    public static void parallelSort(long[] keys) {
+        parallelSort(keys, keys.length);
+    }
+
+    // keys[0..length) 만 정렬한다.
+    static void parallelSort(long[] keys, int length) {
+        radixSort(keys, length, null, length >= PARALLEL_THRESHOLD);
+    }
+
+    private static void sort(List<PhoneNumber> list, boolean parallel) {
+        int[] indices = sortedIndices(list, parallel);
+        Object[] elements = list.toArray();
+        ListIterator<PhoneNumber> it = list.listIterator();
+        for (int index : indices) {
+            it.next();
+            it.set((PhoneNumber) elements[index]);
+        }
+    }
+
+    private static int[] sortedIndices(List<PhoneNumber> list, boolean parallel) {
+        int n = list.size();
+        long[] keys = new long[n];
+        int i = 0;
+        for (PhoneNumber pn : list) {
+            if (!PhoneNumberKeys.isPackable(pn)) {
+                return comparisonSortedIndices(list);
+            }
+            keys[i++] = PhoneNumberKeys.pack(pn);
+        }
+        int[] indices = new int[n];
+        Arrays.setAll(indices, j -> j);
+        radixSort(keys, n, indices, parallel && n >= PARALLEL_THRESHOLD);
+        return indices;
+    }
+
+    private static int[] comparisonSortedIndices(List<PhoneNumber> list) {
+        PhoneNumber[] elements = list.toArray(new PhoneNumber[0]);
+        return IntStream.range(0, elements.length).boxed()
+            .sorted(Comparator.comparing(i -> elements[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    // indices 가 null 이 아니면 키와 같이 옮긴다.
+    private static void radixSort(long[] keys, int n, int[] indices, boolean parallel) {
+        if (n < 2) {
+            return;
+        }
+        int chunks = parallel
+            ? Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, n / MIN_CHUNK))
+            : 1;
+        int chunkSize = (n + chunks - 1) / chunks;
+
+        long[] srcKeys = keys;
+        long[] dstKeys = new long[n];
+        int[] srcIndices = indices;
+        int[] dstIndices = indices == null ? null : new int[n];
+        int[][] offsets = new int[chunks][BUCKETS];
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            long[] src = srcKeys;
+            // 부호 비트를 뒤집으면 부호 있는 순서가 부호 없는 순서가 된다.
+            forEachChunk(chunks, parallel, c -> {
+                int[] count = offsets[c];
+                Arrays.fill(count, 0);
+                for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                    count[digit(src[i], shift)]++;
+                }
+            });
+            if (isSingleBucket(offsets, n)) {
+                continue;
+            }
+
+            // offsets[c][b] 를 "chunk c 의 b 버킷 원소가 들어갈 첫 위치"로 바꾼다.
+            int next = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = offsets[c][b];
+                    offsets[c][b] = next;
+                    next += count;
+                }
+            }
+
+            long[] dst = dstKeys;
+            int[] srcIdx = srcIndices;
+            int[] dstIdx = dstIndices;
+            forEachChunk(chunks, parallel, c -> {
+                int[] offset = offsets[c];
+                for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                    int to = offset[digit(src[i], shift)]++;
+                    dst[to] = src[i];
+                    if (srcIdx != null) {
+                        dstIdx[to] = srcIdx[i];
+                    }
+                }
+            });
+
+            dstKeys = srcKeys;
+            srcKeys = dst;
+            dstIndices = srcIndices;
+            srcIndices = dstIdx;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            if (indices != null) {
+                System.arraycopy(srcIndices, 0, indices, 0, n);
+            }
+        }
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & MASK;
+    }
+
+    private static boolean isSingleBucket(int[][] counts, int n) {
+        for (int b = 0; b < BUCKETS; b++) {
+            int total = 0;
+            for (int[] count : counts) {
+                total += count[b];
+            }
+            if (total != 0) {
+                return total == n;
+            }
+        }
+        return false;
+    }
+
+    private static void forEachChunk(int chunks, boolean parallel, IntConsumer action) {
+        if (parallel && chunks > 1) {
+            IntStream.range(0, chunks).parallel().forEach(action);
+        } else {
+            for (int c = 0; c < chunks; c++) {
+                action.accept(c);
+            }
+        }
+    }
+}
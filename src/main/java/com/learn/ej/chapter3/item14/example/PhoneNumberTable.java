@@ -0,0 +1,217 @@
+package com.learn.ej.chapter3.item14.example;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * PhoneNumber 를 객체 대신 PhoneNumberKeys 로 압축한 long 한 칸(8바이트)에 담는 표.
+ * 정렬해 두면 areaCode, areaCode + prefix 로 범위를 이진 탐색할 수 있다.
+ * 읽을 때는 Cursor 하나를 재사용하므로 PhoneNumber 객체를 만들지 않는다. 스레드 안전하지 않다.
+ */
+public class PhoneNumberTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private long[] keys;
+    private int size;
+    private boolean sorted = true;
+
+    public PhoneNumberTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PhoneNumberTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        this.keys = new long[initialCapacity];
+    }
+
+    public void append(PhoneNumber pn) {
+        appendKey(PhoneNumberKeys.pack(pn));
+    }
+
+    public void append(int areaCode, int prefix, int lineNum) {
+        appendKey(PhoneNumberKeys.pack(areaCode, prefix, lineNum));
+    }
+
+    private void appendKey(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, grownCapacity(keys.length));
+        }
+        // 정렬된 순서대로 추가하면 정렬 상태가 유지된다.
+        if (sorted && size > 0 && keys[size - 1] > key) {
+            sorted = false;
+        }
+        keys[size++] = key;
+    }
+
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+        // 앞쪽 size 칸만 제자리에서 정렬한다. 복사본을 만들면 radix sort 의 보조 배열까지 키 배열이 세 벌이 된다.
+        PhoneNumberRadixSorter.parallelSort(keys, size);
+        sorted = true;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int areaCode(int row) {
+        return PhoneNumberKeys.areaCode(key(row));
+    }
+
+    public int prefix(int row) {
+        return PhoneNumberKeys.prefix(key(row));
+    }
+
+    public int lineNum(int row) {
+        return PhoneNumberKeys.lineNum(key(row));
+    }
+
+    // 객체가 필요할 때만 쓴다. 호출할 때마다 새로 만든다.
+    public PhoneNumber get(int row) {
+        return PhoneNumberKeys.unpack(key(row));
+    }
+
+    private long key(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+        return keys[row];
+    }
+
+    public void trimToSize() {
+        if (keys.length != size) {
+            keys = Arrays.copyOf(keys, size);
+        }
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // key 이상인 첫 행. sorted 일 때만 쓴다.
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int grownCapacity(int capacity) {
+        if (capacity >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        int newCapacity = Math.max(DEFAULT_CAPACITY, capacity + (capacity >> 1));
+        return newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE ? MAX_ARRAY_SIZE : newCapacity;
+    }
+
+    /**
+     * 표의 한 구간을 한 행씩 읽는 flyweight. next() 로 옮겨 가며 같은 객체를 계속 쓴다.
+     * 읽는 도중에 표를 바꾸면 결과는 정의되지 않는다.
+     */
+    public final class Cursor {
+
+        private int row;
+        private int end;
+
+        private Cursor() {
+            reset();
+        }
+
+        // 표 전체를 읽도록 되돌린다.
+        public Cursor reset() {
+            return range(0, size);
+        }
+
+        public Cursor seek(int areaCode) {
+            return seek(areaCode, 0, areaCode, PhoneNumberKeys.MAX_PREFIX);
+        }
+
+        public Cursor seek(int areaCode, int prefix) {
+            return seek(areaCode, prefix, areaCode, prefix);
+        }
+
+        private Cursor seek(int fromAreaCode, int fromPrefix, int toAreaCode, int toPrefix) {
+            if (!sorted) {
+                throw new IllegalStateException("table must be sorted before seek");
+            }
+            if (!PhoneNumberKeys.isPackable(fromAreaCode, fromPrefix, 0)
+                || !PhoneNumberKeys.isPackable(toAreaCode, toPrefix, 0)) {
+                // 압축할 수 없는 번호는 표에 있을 수 없다.
+                return range(0, 0);
+            }
+            long fromKey = PhoneNumberKeys.pack(fromAreaCode, fromPrefix, 0);
+            long toKey = PhoneNumberKeys.pack(toAreaCode, toPrefix, PhoneNumberKeys.MAX_LINE_NUM);
+            int from = lowerBound(fromKey);
+            int to = toKey == Long.MAX_VALUE ? size : lowerBound(toKey + 1);
+            return range(from, to);
+        }
+
+        private Cursor range(int from, int to) {
+            this.row = from - 1;
+            this.end = to;
+            return this;
+        }
+
+        public boolean next() {
+            if (row + 1 >= end) {
+                row = end;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        // 아직 읽지 않은 행의 수
+        public int remaining() {
+            return Math.max(0, end - row - 1);
+        }
+
+        public int row() {
+            checkPositioned();
+            return row;
+        }
+
+        public int areaCode() {
+            checkPositioned();
+            return PhoneNumberKeys.areaCode(keys[row]);
+        }
+
+        public int prefix() {
+            checkPositioned();
+            return PhoneNumberKeys.prefix(keys[row]);
+        }
+
+        public int lineNum() {
+            checkPositioned();
+            return PhoneNumberKeys.lineNum(keys[row]);
+        }
+
+        public PhoneNumber toPhoneNumber() {
+            checkPositioned();
+            return PhoneNumberKeys.unpack(keys[row]);
+        }
+
+        private void checkPositioned() {
+            if (row < 0 || row >= end) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
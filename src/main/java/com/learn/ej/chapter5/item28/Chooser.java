@@ -1,7 +1,7 @@
 package com.learn.ej.chapter5.item28;
 
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
@@ -12,12 +12,108 @@ public class Chooser<T> {
     private final List<T> arr;
 
 
+    // List.copyOf 는 이미 불변 리스트(List.of 등)이면 복사하지 않는다. null 원소는 허용하지 않는다.
     public Chooser(Collection<T> arr) {
-        this.arr = new ArrayList<>(arr);
+        this.arr = List.copyOf(arr);
     }
 
     public T choose() {
         Random rnd = ThreadLocalRandom.current();
         return arr.get(rnd.nextInt(arr.size()));
     }
+
+    // 중복을 허용해서 n 개를 뽑아 out[0..n) 에 채운다.
+    public void choose(int n, T[] out) {
+        checkCount(n, out.length);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int size = arr.size();
+        for (int i = 0; i < n; i++) {
+            out[i] = arr.get(rnd.nextInt(size));
+        }
+    }
+
+    /**
+     * 중복 없이 k 개를 뽑아 out[0..k) 에 무작위 순서로 채운다.
+     * Floyd 알고리즘이라 원본 크기와 상관없이 k 번만 뽑고, 뽑은 인덱스를 기록하는 공간도 k 에 비례한다.
+     */
+    public void sample(int k, T[] out) {
+        checkCount(k, out.length);
+        int size = arr.size();
+        if (k > size) {
+            throw new IllegalArgumentException("k must not exceed " + size + ": " + k);
+        }
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        IndexSet chosen = new IndexSet(k, size);
+        int count = 0;
+        for (int j = size - k; j < size; j++) {
+            int index = rnd.nextInt(j + 1);
+            // 앞에서 뽑은 인덱스는 모두 j 보다 작으므로 j 는 아직 뽑히지 않았다.
+            if (!chosen.add(index)) {
+                index = j;
+                chosen.add(index);
+            }
+            out[count++] = arr.get(index);
+        }
+        // Floyd 알고리즘은 어떤 원소가 뽑히는지는 균등하지만 순서는 치우쳐 있어서 한 번 섞는다.
+        for (int i = k - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            T tmp = out[i];
+            out[i] = out[j];
+            out[j] = tmp;
+        }
+    }
+
+    static void checkCount(int n, int capacity) {
+        if (n < 0 || n > capacity) {
+            throw new IllegalArgumentException("n must be between 0 and " + capacity + ": " + n);
+        }
+    }
+
+    /**
+     * sample 에서 뽑은 인덱스 집합. k 가 원본의 1/64 이하이면 k 의 2배 이상인 open addressing 표를 쓰고,
+     * 그보다 크면 원본 크기의 BitSet 을 쓴다. 어느 쪽이든 할당은 O(k) 이다.
+     */
+    private static final class IndexSet {
+
+        private final BitSet bits;
+        // index + 1 을 넣어서 0 을 빈 칸으로 쓴다. 그래서 채워 둘 필요가 없다.
+        private final int[] table;
+        private final int mask;
+        // 곱셈 해시의 상위 log2(table.length) 비트를 시작 칸으로 쓴다. 16비트만 쓰면 표가 65536 칸을 넘을 때 뒤쪽이 비게 된다.
+        private final int shift;
+
+        private IndexSet(int k, int size) {
+            if (k > (size >>> 6)) {
+                this.bits = new BitSet(size);
+                this.table = null;
+                this.mask = 0;
+                this.shift = 0;
+            } else {
+                this.bits = null;
+                this.table = new int[Integer.highestOneBit(2 * Math.max(k, 1) - 1) << 1];
+                this.mask = table.length - 1;
+                this.shift = 32 - Integer.numberOfTrailingZeros(table.length);
+            }
+        }
+
+        // 새로 넣었으면 true, 이미 있었으면 false
+        boolean add(int index) {
+            if (bits != null) {
+                if (bits.get(index)) {
+                    return false;
+                }
+                bits.set(index);
+                return true;
+            }
+            int slot = (index * 0x9e3779b9) >>> shift;
+            while (table[slot] != 0) {
+                if (table[slot] == index + 1) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+            return true;
+        }
+    }
 }
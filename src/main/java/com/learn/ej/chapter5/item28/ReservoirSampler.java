@@ -0,0 +1,74 @@
+package com.learn.ej.chapter5.item28;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 크기를 모르거나 너무 커서 복사할 수 없는 입력에서 k 개를 균등하게 뽑는다. 메모리는 k 개만 쓴다.
+ * Li 의 Algorithm L 로 다음에 교체할 위치까지 건너뛰므로 난수는 O(k log(n/k)) 번만 뽑는다.
+ * 스레드 안전하지 않다.
+ */
+public class ReservoirSampler<T> implements Consumer<T> {
+
+    private final int k;
+    private final List<T> reservoir;
+    private long seen;
+    private long nextReplacement;
+    private double w;
+
+    public ReservoirSampler(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.reservoir = new ArrayList<>(k);
+    }
+
+    @Override
+    public void accept(T element) {
+        if (seen < k) {
+            reservoir.add(element);
+            seen++;
+            if (seen == k) {
+                w = Math.exp(Math.log(randomOpen()) / k);
+                scheduleNext();
+            }
+            return;
+        }
+        if (seen == nextReplacement) {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            reservoir.set(rnd.nextInt(k), element);
+            w *= Math.exp(Math.log(randomOpen()) / k);
+            seen++;
+            scheduleNext();
+            return;
+        }
+        seen++;
+    }
+
+    // 뽑힌 원소들. 입력이 k 개보다 적으면 전부 돌려준다.
+    public List<T> result() {
+        return Collections.unmodifiableList(new ArrayList<>(reservoir));
+    }
+
+    public long seen() {
+        return seen;
+    }
+
+    private void scheduleNext() {
+        double skip = Math.floor(Math.log(randomOpen()) / Math.log1p(-w));
+        nextReplacement = skip >= Long.MAX_VALUE - seen ? Long.MAX_VALUE : seen + (long) skip;
+    }
+
+    // log(0) 을 피하기 위해 (0, 1) 구간에서 뽑는다.
+    private static double randomOpen() {
+        double u;
+        do {
+            u = ThreadLocalRandom.current().nextDouble();
+        } while (u == 0.0);
+        return u;
+    }
+}
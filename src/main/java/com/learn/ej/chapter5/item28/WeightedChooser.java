@@ -0,0 +1,91 @@
+package com.learn.ej.chapter5.item28;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 가중치에 비례해서 고르는 Chooser. Walker 의 alias method(Vose 변형)로 표를 한 번 만들어 두면
+ * 뽑을 때마다 난수 두 개와 배열 접근 두 번으로 끝난다. (O(1))
+ */
+public class WeightedChooser<T> {
+
+    private final List<T> items;
+    private final double[] probability;
+    private final int[] alias;
+
+    public WeightedChooser(Collection<T> items, ToDoubleFunction<? super T> weight) {
+        this.items = List.copyOf(items);
+        int n = this.items.size();
+        if (n == 0) {
+            throw new IllegalArgumentException("items must not be empty");
+        }
+
+        double[] scaled = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            double w = weight.applyAsDouble(this.items.get(i));
+            if (!(w >= 0) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("weight must be finite and not negative: " + w);
+            }
+            scaled[i] = w;
+            total += w;
+        }
+        if (!(total > 0) || Double.isInfinite(total)) {
+            throw new IllegalArgumentException("total weight must be positive and finite: " + total);
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        // 남은 칸은 부동소수 오차를 빼면 모두 1 이다.
+        while (!large.isEmpty()) {
+            probability[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            probability[small.pop()] = 1.0;
+        }
+    }
+
+    public T choose() {
+        return choose(ThreadLocalRandom.current());
+    }
+
+    // 중복을 허용해서 n 개를 뽑아 out[0..n) 에 채운다.
+    public void choose(int n, T[] out) {
+        Chooser.checkCount(n, out.length);
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < n; i++) {
+            out[i] = choose(rnd);
+        }
+    }
+
+    private T choose(ThreadLocalRandom rnd) {
+        int column = rnd.nextInt(probability.length);
+        return items.get(rnd.nextDouble() < probability[column] ? column : alias[column]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Treiber 방식의 락 프리 스택. push/pop 규약은 GenericStackV2 와 같다.
+ * <p>
+ * eliminationWidth 를 주면 top 에 대한 CAS 가 실패했을 때 EliminationArray 에서 반대 연산을 기다린다.
+ * push 와 pop 이 만나면 스택을 거치지 않고 값을 바로 주고받고 끝난다.
+ */
+public class ConcurrentGenericStack<E> {
+
+    private static final long DEFAULT_ELIMINATION_TIMEOUT_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    // pop 이 교환기에 내놓는 표식. push 는 항상 Node 를 내놓으므로 null 원소와 구분된다.
+    private static final Object POP = new Object();
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+    private final EliminationArray elimination;
+
+    public ConcurrentGenericStack() {
+        this.elimination = null;
+    }
+
+    public ConcurrentGenericStack(int eliminationWidth) {
+        this(eliminationWidth, DEFAULT_ELIMINATION_TIMEOUT_NANOS);
+    }
+
+    public ConcurrentGenericStack(int eliminationWidth, long eliminationTimeoutNanos) {
+        if (eliminationWidth < 1) {
+            throw new IllegalArgumentException("eliminationWidth must be positive: " + eliminationWidth);
+        }
+        this.elimination = new EliminationArray(eliminationWidth, eliminationTimeoutNanos);
+    }
+
+    public void push(E o) {
+        Node<E> node = new Node<>(o);
+        while (true) {
+            Node<E> oldTop = top.get();
+            node.next = oldTop;
+            if (top.compareAndSet(oldTop, node)) {
+                return;
+            }
+            if (elimination != null && elimination.visit(node) == POP) {
+                return;
+            }
+        }
+    }
+
+    public E pop() {
+        while (true) {
+            Node<E> oldTop = top.get();
+            if (oldTop == null) {
+                throw new EmptyStackException();
+            }
+            if (top.compareAndSet(oldTop, oldTop.next)) {
+                return oldTop.item;
+            }
+            if (elimination != null) {
+                Object other = elimination.visit(POP);
+                if (other instanceof Node) {
+                    @SuppressWarnings("unchecked")
+                    E result = ((Node<E>) other).item;
+                    return result;
+                }
+            }
+        }
+    }
+
+    public E peek() {
+        Node<E> current = top.get();
+        if (current == null) {
+            throw new EmptyStackException();
+        }
+        return current.item;
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    private static final class Node<E> {
+
+        private final E item;
+        private Node<E> next;
+
+        private Node(E item) {
+            this.item = item;
+        }
+    }
+}
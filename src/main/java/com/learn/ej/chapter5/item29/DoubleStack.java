@@ -0,0 +1,87 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * double 를 박싱 없이 저장하는 스택. GenericStackV2&lt;Double&gt; 와 같은 규약을 따른다.
+ */
+public class DoubleStack {
+
+    private double[] elements;
+    private int size = 0;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int minCapacity;
+    private final ShrinkPolicy shrinkPolicy;
+
+    public DoubleStack() {
+        this(DEFAULT_INITIAL_CAPACITY, ShrinkPolicy.NEVER);
+    }
+
+    public DoubleStack(int initialCapacity) {
+        this(initialCapacity, ShrinkPolicy.NEVER);
+    }
+
+    public DoubleStack(int initialCapacity, ShrinkPolicy shrinkPolicy) {
+        this.minCapacity = ShrinkPolicy.checkInitialCapacity(initialCapacity);
+        this.shrinkPolicy = shrinkPolicy;
+        elements = new double[initialCapacity];
+    }
+
+    public void push(double value) {
+        if (elements.length == size) {
+            elements = Arrays.copyOf(elements, ShrinkPolicy.grownCapacity(size));
+        }
+
+        elements[size++] = value;
+    }
+
+    public double pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        double result = elements[--size];
+        shrinkIfNeeded();
+        return result;
+    }
+
+    public double peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 테스트에서 축소 정책이 실제로 배열을 줄였는지 확인하는 용도.
+    int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        if (shrinkPolicy != ShrinkPolicy.NEVER) {
+            elements = new double[minCapacity];
+        }
+        size = 0;
+    }
+
+    // 아래에서 위 순서로 복사한다.
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void shrinkIfNeeded() {
+        int capacity = shrinkPolicy.shrunkCapacity(elements.length, size, minCapacity);
+        if (capacity != elements.length) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+    }
+}
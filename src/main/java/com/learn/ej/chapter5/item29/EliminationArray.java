@@ -0,0 +1,82 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * ConcurrentGenericStack 의 elimination backoff 용 교환기 배열.
+ * 경합이 심할수록 여러 슬롯으로 흩어져 만나게 되어 top 에 몰리는 CAS 를 줄여준다.
+ */
+final class EliminationArray {
+
+    // 시간 안에 상대를 만나지 못했을 때 반환한다. 예외 대신 표식을 써서 실패 경로의 비용을 줄인다.
+    static final Object TIMED_OUT = new Object();
+
+    private final Exchanger[] exchangers;
+    private final long timeoutNanos;
+
+    EliminationArray(int width, long timeoutNanos) {
+        this.exchangers = new Exchanger[width];
+        for (int i = 0; i < width; i++) {
+            exchangers[i] = new Exchanger();
+        }
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    Object visit(Object item) {
+        int slot = ThreadLocalRandom.current().nextInt(exchangers.length);
+        return exchangers[slot].exchange(item, timeoutNanos);
+    }
+
+    // stamp 로 슬롯 상태를 표시하는 락 프리 교환기 (EMPTY -> WAITING -> BUSY -> EMPTY)
+    private static final class Exchanger {
+
+        private static final int EMPTY = 0;
+        private static final int WAITING = 1;
+        private static final int BUSY = 2;
+
+        private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+        Object exchange(Object myItem, long timeoutNanos) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            int[] stampHolder = {EMPTY};
+            while (System.nanoTime() < deadline) {
+                Object yourItem = slot.get(stampHolder);
+                switch (stampHolder[0]) {
+                    case EMPTY:
+                        if (slot.compareAndSet(yourItem, myItem, EMPTY, WAITING)) {
+                            return awaitPartner(myItem, deadline, stampHolder);
+                        }
+                        break;
+                    case WAITING:
+                        if (slot.compareAndSet(yourItem, myItem, WAITING, BUSY)) {
+                            return yourItem;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                Thread.onSpinWait();
+            }
+            return TIMED_OUT;
+        }
+
+        private Object awaitPartner(Object myItem, long deadline, int[] stampHolder) {
+            while (System.nanoTime() < deadline) {
+                Object yourItem = slot.get(stampHolder);
+                if (stampHolder[0] == BUSY) {
+                    slot.set(null, EMPTY);
+                    return yourItem;
+                }
+                Thread.onSpinWait();
+            }
+            if (slot.compareAndSet(myItem, null, WAITING, EMPTY)) {
+                return TIMED_OUT;
+            }
+            // 포기 직전에 상대가 들어왔다.
+            Object yourItem = slot.get(stampHolder);
+            slot.set(null, EMPTY);
+            return yourItem;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.learn.ej.chapter5.item29;
 
+import java.util.Arrays;
 import java.util.EmptyStackException;
 
 public class GenericStack<E> {
@@ -15,10 +16,7 @@ public class GenericStack<E> {
     }
 
     public void push(E o) {
-        if (elements.length >= DEFAULT_INITIAL_CAPACITY) {
-            throw new ArrayIndexOutOfBoundsException("stack is full");
-        }
-
+        ensureCapacity();
         elements[size++] = o;
     }
 
@@ -30,4 +28,15 @@ public class GenericStack<E> {
         elements[size] = null;
         return result;
     }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // elements 의 런타임 타입은 Object[] 이므로 copyOf 결과도 Object[] 이다.
+    private void ensureCapacity() {
+        if (elements.length == size) {
+            elements = Arrays.copyOf(elements, ShrinkPolicy.grownCapacity(size));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.learn.ej.chapter5.item29;
 
+import java.util.Arrays;
 import java.util.EmptyStackException;
 
 public class GenericStackV2<E> {
@@ -8,14 +9,27 @@ public class GenericStackV2<E> {
     private int size = 0;
     private static final int DEFAULT_INITIAL_CAPACITY = 16;
 
+    private final int minCapacity;
+    private final ShrinkPolicy shrinkPolicy;
+
 
     public GenericStackV2() {
-        elements = new Object[DEFAULT_INITIAL_CAPACITY];
+        this(DEFAULT_INITIAL_CAPACITY, ShrinkPolicy.NEVER);
+    }
+
+    public GenericStackV2(int initialCapacity) {
+        this(initialCapacity, ShrinkPolicy.NEVER);
+    }
+
+    public GenericStackV2(int initialCapacity, ShrinkPolicy shrinkPolicy) {
+        this.minCapacity = ShrinkPolicy.checkInitialCapacity(initialCapacity);
+        this.shrinkPolicy = shrinkPolicy;
+        elements = new Object[initialCapacity];
     }
 
     public void push(E o) {
-        if (elements.length >= DEFAULT_INITIAL_CAPACITY) {
-            throw new ArrayIndexOutOfBoundsException("stack is full");
+        if (elements.length == size) {
+            elements = Arrays.copyOf(elements, ShrinkPolicy.grownCapacity(size));
         }
 
         elements[size++] = o;
@@ -28,6 +42,45 @@ public class GenericStackV2<E> {
         @SuppressWarnings("unchecked")
         E result = (E) elements[--size];
         elements[size] = null;
+        shrinkIfNeeded();
+        return result;
+    }
+
+    public E peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        @SuppressWarnings("unchecked")
+        E result = (E) elements[size - 1];
         return result;
     }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 테스트에서 축소 정책이 실제로 배열을 줄였는지 확인하는 용도.
+    int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        if (shrinkPolicy == ShrinkPolicy.NEVER) {
+            Arrays.fill(elements, 0, size, null);
+        } else {
+            elements = new Object[minCapacity];
+        }
+        size = 0;
+    }
+
+    private void shrinkIfNeeded() {
+        int capacity = shrinkPolicy.shrunkCapacity(elements.length, size, minCapacity);
+        if (capacity != elements.length) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+    }
 }
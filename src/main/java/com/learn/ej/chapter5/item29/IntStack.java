@@ -0,0 +1,87 @@
+package com.learn.ej.chapter5.item29;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * int 를 박싱 없이 저장하는 스택. GenericStackV2&lt;Integer&gt; 와 같은 규약을 따른다.
+ */
+public class IntStack {
+
+    private int[] elements;
+    private int size = 0;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private final int minCapacity;
+    private final ShrinkPolicy shrinkPolicy;
+
+    public IntStack() {
+        this(DEFAULT_INITIAL_CAPACITY, ShrinkPolicy.NEVER);
+    }
+
+    public IntStack(int initialCapacity) {
+        this(initialCapacity, ShrinkPolicy.NEVER);
+    }
+
+    public IntStack(int initialCapacity, ShrinkPolicy shrinkPolicy) {
+        this.minCapacity = ShrinkPolicy.checkInitialCapacity(initialCapacity);
+        this.shrinkPolicy = shrinkPolicy;
+        elements = new int[initialCapacity];
+    }
+
+    public void push(int value) {
+        if (elements.length == size) {
+            elements = Arrays.copyOf(elements, ShrinkPolicy.grownCapacity(size));
+        }
+
+        elements[size++] = value;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        int result = elements[--size];
+        shrinkIfNeeded();
+        return result;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 테스트에서 축소 정책이 실제로 배열을 줄였는지 확인하는 용도.
+    int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        if (shrinkPolicy != ShrinkPolicy.NEVER) {
+            elements = new int[minCapacity];
+        }
+        size = 0;
+    }
+
+    // 아래에서 위 순서로 복사한다.
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void shrinkIfNeeded() {
+        int capacity = shrinkPolicy.shrunkCapacity(elements.length, size, minCapacity);
+        if (capacity != elements.length) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.learn.ej.chapter5.item29;
 
+import java.util.Arrays;
 import java.util.EmptyStackException;
 
 public class ObjectStack {
@@ -13,10 +14,7 @@ public class ObjectStack {
     }
 
     public void push(Object o) {
-        if (elements.length >= DEFAULT_INITIAL_CAPACITY) {
-            throw new ArrayIndexOutOfBoundsException("stack is full");
-        }
-
+        ensureCapacity();
         elements[size++] = o;
     }
 
@@ -28,4 +26,14 @@ public class ObjectStack {
         elements[size] = null;
         return result;
     }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (elements.length == size) {
+            elements = Arrays.copyOf(elements, ShrinkPolicy.grownCapacity(size));
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.learn.ej.chapter5.item29;
+
+/**
+ * 배열 기반 스택의 용량 정책. 늘리는 쪽은 2배 확장으로 고정이고, 줄이는 쪽만 선택할 수 있다.
+ */
+public enum ShrinkPolicy {
+
+    // 한번 늘어난 배열은 줄이지 않는다.
+    NEVER {
+        @Override
+        int shrunkCapacity(int capacity, int size, int minCapacity) {
+            return capacity;
+        }
+    },
+
+    // 원소 수가 용량의 1/4 이하로 떨어지면 절반으로 줄인다. (1/2 기준으로 하면 경계에서 grow/shrink 가 반복된다)
+    QUARTER {
+        @Override
+        int shrunkCapacity(int capacity, int size, int minCapacity) {
+            if (capacity > minCapacity && size <= (capacity >>> 2)) {
+                return Math.max(capacity >>> 1, minCapacity);
+            }
+            return capacity;
+        }
+    };
+
+    // 일부 VM 은 배열 헤더 때문에 Integer.MAX_VALUE 크기 배열을 만들지 못한다.
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    abstract int shrunkCapacity(int capacity, int size, int minCapacity);
+
+    static int grownCapacity(int capacity) {
+        if (capacity >= MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("stack is too large");
+        }
+        int newCapacity = capacity << 1;
+        if (newCapacity <= 0 || newCapacity > MAX_ARRAY_SIZE) {
+            return MAX_ARRAY_SIZE;
+        }
+        return newCapacity;
+    }
+
+    static int checkInitialCapacity(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+        }
+        return initialCapacity;
+    }
+}
@@ -0,0 +1,89 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * double 을 박싱 없이 담는 TopK. 순서는 Double.compare 를 따른다. (NaN 이 가장 크고 -0.0 &lt; 0.0)
+ */
+public final class DoubleTopK implements DoubleConsumer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private double[] heap;
+    private int size;
+
+    public DoubleTopK(int k) {
+        this.k = Selection.checkK(k);
+        this.heap = new double[Math.min(k, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public void accept(double value) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, Selection.grownCapacity(size, k));
+            }
+            siftUp(size++, value);
+        } else if (Double.compare(value, heap[0]) > 0) {
+            siftDown(value);
+        }
+    }
+
+    public DoubleTopK combine(DoubleTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            accept(other.heap[i]);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 큰 것부터
+    public double[] toArray() {
+        double[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            double tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    private void siftUp(int i, double value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            double p = heap[parent];
+            if (Double.compare(value, p) >= 0) {
+                break;
+            }
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(double value) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            double c = heap[child];
+            int right = child + 1;
+            if (right < size && Double.compare(heap[right], c) < 0) {
+                child = right;
+                c = heap[right];
+            }
+            if (Double.compare(value, c) <= 0) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
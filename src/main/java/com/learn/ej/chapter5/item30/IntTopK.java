@@ -0,0 +1,89 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * int 를 박싱 없이 담는 TopK.
+ */
+public final class IntTopK implements IntConsumer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private int[] heap;
+    private int size;
+
+    public IntTopK(int k) {
+        this.k = Selection.checkK(k);
+        this.heap = new int[Math.min(k, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public void accept(int value) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, Selection.grownCapacity(size, k));
+            }
+            siftUp(size++, value);
+        } else if (value > heap[0]) {
+            siftDown(value);
+        }
+    }
+
+    public IntTopK combine(IntTopK other) {
+        for (int i = 0; i < other.size; i++) {
+            accept(other.heap[i]);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 큰 것부터
+    public int[] toArray() {
+        int[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    private void siftUp(int i, int value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (value >= p) {
+                break;
+            }
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int value) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            int right = child + 1;
+            if (right < size && heap[right] < c) {
+                child = right;
+                c = heap[right];
+            }
+            if (value <= c) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
@@ -20,14 +20,8 @@ public class RecursiveTypeExample {
             throw new IllegalArgumentException("Collection is empty!");
         }
 
-        Optional<E> result = Optional.empty();
-        for (E e : c) {
-            if (result.isEmpty() || e.compareTo(result.get()) > 0) {
-                result = Optional.of(e);
-            }
-        }
-
-        return result;
+        // 더 큰 값을 찾을 때마다 Optional 을 새로 만들지 않도록 지역 변수로 찾는 Selection 에 맡긴다.
+        return Optional.of(Selection.max(c));
     }
 
 }
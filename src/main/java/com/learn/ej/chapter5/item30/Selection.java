@@ -0,0 +1,332 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * 정렬하지 않고 최댓값, 최솟값, 가장 큰 k 개를 고른다.
+ * <ul>
+ * <li>max/min 은 지역 변수 하나로 한 번 훑는다. RandomAccess 리스트와 배열은 Iterator 도 만들지 않는다.</li>
+ * <li>parallelMax 는 입력을 반씩 나눠 fork-join 으로 계산한다. 나누기 어려운 입력은 순차 계산과 비슷하다.</li>
+ * <li>topK 는 크기 k 의 최소 힙(TopK)을 쓴다. 결과는 큰 것부터다.</li>
+ * </ul>
+ * double 은 Double.compare 순서를 따른다. (NaN 이 가장 크고 -0.0 &lt; 0.0)
+ * 비어 있는 입력의 max/min 은 NoSuchElementException 이 발생하고, 가장 큰 값이 여럿이면 앞의 것을 돌려준다.
+ */
+public final class Selection {
+
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private Selection() {
+    }
+
+    public static <E extends Comparable<? super E>> E max(Iterable<? extends E> items) {
+        return select(items, true);
+    }
+
+    public static <E extends Comparable<? super E>> E min(Iterable<? extends E> items) {
+        return select(items, false);
+    }
+
+    public static <E extends Comparable<? super E>> E max(E[] a) {
+        return select(Arrays.asList(a), true);
+    }
+
+    public static <E extends Comparable<? super E>> E min(E[] a) {
+        return select(Arrays.asList(a), false);
+    }
+
+    public static int max(int[] a) {
+        checkNotEmpty(a.length);
+        return max(a, 0, a.length);
+    }
+
+    public static int min(int[] a) {
+        checkNotEmpty(a.length);
+        int result = a[0];
+        for (int i = 1; i < a.length; i++) {
+            result = Math.min(result, a[i]);
+        }
+        return result;
+    }
+
+    public static long max(long[] a) {
+        checkNotEmpty(a.length);
+        return max(a, 0, a.length);
+    }
+
+    public static long min(long[] a) {
+        checkNotEmpty(a.length);
+        long result = a[0];
+        for (int i = 1; i < a.length; i++) {
+            result = Math.min(result, a[i]);
+        }
+        return result;
+    }
+
+    public static double max(double[] a) {
+        checkNotEmpty(a.length);
+        return max(a, 0, a.length);
+    }
+
+    public static double min(double[] a) {
+        checkNotEmpty(a.length);
+        double result = a[0];
+        for (int i = 1; i < a.length; i++) {
+            if (Double.compare(a[i], result) < 0) {
+                result = a[i];
+            }
+        }
+        return result;
+    }
+
+    public static <E extends Comparable<? super E>> E parallelMax(Collection<? extends E> c) {
+        checkNotEmpty(c.size());
+        return ForkJoinPool.commonPool().invoke(new MaxTask<E>(c.spliterator()));
+    }
+
+    public static <E extends Comparable<? super E>> E parallelMax(E[] a) {
+        checkNotEmpty(a.length);
+        return ForkJoinPool.commonPool().invoke(new MaxTask<E>(Arrays.spliterator(a)));
+    }
+
+    public static int parallelMax(int[] a) {
+        checkNotEmpty(a.length);
+        return parallel(a.length, (from, to) -> max(a, from, to), Math::max);
+    }
+
+    public static long parallelMax(long[] a) {
+        checkNotEmpty(a.length);
+        return parallel(a.length, (from, to) -> max(a, from, to), Math::max);
+    }
+
+    public static double parallelMax(double[] a) {
+        checkNotEmpty(a.length);
+        return parallel(a.length, (from, to) -> max(a, from, to), (x, y) -> Double.compare(y, x) > 0 ? y : x);
+    }
+
+    // 스트림에서 가장 큰 k 개를 큰 것부터 모은다. 병렬 스트림이면 조각마다 힙을 만들고 합친다.
+    public static <E extends Comparable<? super E>> Collector<E, ?, List<E>> topK(int k) {
+        checkK(k);
+        return Collector.of(() -> new TopK<E>(k), TopK::accept, TopK::combine, TopK::toList);
+    }
+
+    public static <E extends Comparable<? super E>> List<E> topK(Iterable<? extends E> items, int k) {
+        TopK<E> top = new TopK<>(k);
+        items.forEach(top);
+        return top.toList();
+    }
+
+    public static int[] topK(int[] a, int k) {
+        IntTopK top = new IntTopK(k);
+        for (int value : a) {
+            top.accept(value);
+        }
+        return top.toArray();
+    }
+
+    public static long[] topK(long[] a, int k) {
+        LongTopK top = new LongTopK(k);
+        for (long value : a) {
+            top.accept(value);
+        }
+        return top.toArray();
+    }
+
+    public static double[] topK(double[] a, int k) {
+        DoubleTopK top = new DoubleTopK(k);
+        for (double value : a) {
+            top.accept(value);
+        }
+        return top.toArray();
+    }
+
+    public static int[] topK(IntStream stream, int k) {
+        checkK(k);
+        return stream.collect(() -> new IntTopK(k), IntTopK::accept, IntTopK::combine).toArray();
+    }
+
+    public static long[] topK(LongStream stream, int k) {
+        checkK(k);
+        return stream.collect(() -> new LongTopK(k), LongTopK::accept, LongTopK::combine).toArray();
+    }
+
+    public static double[] topK(DoubleStream stream, int k) {
+        checkK(k);
+        return stream.collect(() -> new DoubleTopK(k), DoubleTopK::accept, DoubleTopK::combine).toArray();
+    }
+
+    static int checkK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        return k;
+    }
+
+    // 힙 배열을 늘릴 크기. k 를 넘지 않는다.
+    static int grownCapacity(int size, int k) {
+        return (int) Math.min(k, size * 2L);
+    }
+
+    private static void checkNotEmpty(int size) {
+        if (size == 0) {
+            throw new NoSuchElementException("empty");
+        }
+    }
+
+    private static <E extends Comparable<? super E>> E select(Iterable<? extends E> items, boolean max) {
+        if (items instanceof List && items instanceof RandomAccess) {
+            List<? extends E> list = (List<? extends E>) items;
+            int size = list.size();
+            checkNotEmpty(size);
+            E result = list.get(0);
+            for (int i = 1; i < size; i++) {
+                E e = list.get(i);
+                int c = e.compareTo(result);
+                if (max ? c > 0 : c < 0) {
+                    result = e;
+                }
+            }
+            return result;
+        }
+        Iterator<? extends E> it = items.iterator();
+        if (!it.hasNext()) {
+            throw new NoSuchElementException("empty");
+        }
+        E result = it.next();
+        while (it.hasNext()) {
+            E e = it.next();
+            int c = e.compareTo(result);
+            if (max ? c > 0 : c < 0) {
+                result = e;
+            }
+        }
+        return result;
+    }
+
+    private static int max(int[] a, int from, int to) {
+        int result = a[from];
+        for (int i = from + 1; i < to; i++) {
+            result = Math.max(result, a[i]);
+        }
+        return result;
+    }
+
+    private static long max(long[] a, int from, int to) {
+        long result = a[from];
+        for (int i = from + 1; i < to; i++) {
+            result = Math.max(result, a[i]);
+        }
+        return result;
+    }
+
+    private static double max(double[] a, int from, int to) {
+        double result = a[from];
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(a[i], result) > 0) {
+                result = a[i];
+            }
+        }
+        return result;
+    }
+
+    private static <E extends Comparable<? super E>> E larger(E left, E right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return right.compareTo(left) > 0 ? right : left;
+    }
+
+    private static <R> R parallel(int length, RangeFunction<R> leaf, BinaryOperator<R> merge) {
+        if (length <= PARALLEL_THRESHOLD) {
+            return leaf.apply(0, length);
+        }
+        return ForkJoinPool.commonPool().invoke(new RangeTask<>(leaf, merge, 0, length));
+    }
+
+    @FunctionalInterface
+    private interface RangeFunction<R> {
+
+        R apply(int from, int to);
+    }
+
+    // 배열 구간을 반씩 나눈다. 결과는 조각마다 한 번만 박싱된다.
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final RangeFunction<R> leaf;
+        private final BinaryOperator<R> merge;
+        private final int from;
+        private final int to;
+
+        private RangeTask(RangeFunction<R> leaf, BinaryOperator<R> merge, int from, int to) {
+            this.leaf = leaf;
+            this.merge = merge;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return leaf.apply(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask<R> left = new RangeTask<>(leaf, merge, from, mid);
+            left.fork();
+            R right = new RangeTask<>(leaf, merge, mid, to).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+
+    // Spliterator 를 trySplit 으로 나눈다. 앞 조각(prefix)을 왼쪽으로 두어 같은 값이면 앞의 것이 남는다.
+    private static final class MaxTask<E extends Comparable<? super E>> extends RecursiveTask<E> {
+
+        private final Spliterator<? extends E> spliterator;
+
+        private MaxTask(Spliterator<? extends E> spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        @Override
+        protected E compute() {
+            Spliterator<? extends E> prefix;
+            if (spliterator.estimateSize() > PARALLEL_THRESHOLD && (prefix = spliterator.trySplit()) != null) {
+                MaxTask<E> left = new MaxTask<>(prefix);
+                left.fork();
+                E right = new MaxTask<E>(spliterator).compute();
+                return larger(left.join(), right);
+            }
+            MaxSink<E> sink = new MaxSink<>();
+            spliterator.forEachRemaining(sink);
+            return sink.max;
+        }
+    }
+
+    private static final class MaxSink<E extends Comparable<? super E>> implements Consumer<E> {
+
+        private E max;
+
+        @Override
+        public void accept(E e) {
+            if (max == null || e.compareTo(max) > 0) {
+                max = e;
+            }
+        }
+    }
+}
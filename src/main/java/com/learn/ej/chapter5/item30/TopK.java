@@ -0,0 +1,95 @@
+package com.learn.ej.chapter5.item30;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 지금까지 본 원소 중 가장 큰 k 개를 크기 k 의 최소 힙으로 기억한다.
+ * 힙이 차면 새 원소는 힙의 최솟값과 한 번만 비교하고 대부분 버려지므로, n 개를 정렬하지 않고 O(n log k) 에 끝난다.
+ * combine 으로 합칠 수 있어서 병렬 스트림의 Collector 로 쓸 수 있다(Selection.topK 참고). 스레드 안전하지 않다.
+ */
+public final class TopK<E extends Comparable<? super E>> implements Consumer<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private Object[] heap;
+    private int size;
+
+    public TopK(int k) {
+        this.k = Selection.checkK(k);
+        this.heap = new Object[Math.min(k, INITIAL_CAPACITY)];
+    }
+
+    @Override
+    public void accept(E element) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, Selection.grownCapacity(size, k));
+            }
+            siftUp(size++, element);
+        } else if (element.compareTo(elementAt(0)) > 0) {
+            siftDown(element);
+        }
+    }
+
+    public TopK<E> combine(TopK<E> other) {
+        for (int i = 0; i < other.size; i++) {
+            accept(other.elementAt(i));
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 큰 것부터. 같은 값끼리의 순서는 정하지 않는다.
+    @SuppressWarnings("unchecked")
+    public List<E> toList() {
+        Object[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result, Collections.reverseOrder());
+        return (List<E>) (List<?>) List.of(result);
+    }
+
+    private void siftUp(int i, E element) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            E p = elementAt(parent);
+            if (element.compareTo(p) >= 0) {
+                break;
+            }
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = element;
+    }
+
+    // 루트를 element 로 바꾸고 내려 보낸다.
+    private void siftDown(E element) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            E c = elementAt(child);
+            int right = child + 1;
+            if (right < size && elementAt(right).compareTo(c) < 0) {
+                child = right;
+                c = elementAt(right);
+            }
+            if (element.compareTo(c) <= 0) {
+                break;
+            }
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int i) {
+        return (E) heap[i];
+    }
+}
@@ -0,0 +1,316 @@
+package com.learn.ej.chapter7.item42;
+
+import com.learn.ej.chapter7.item42.Expression.Binary;
+import com.learn.ej.chapter7.item42.Expression.Constant;
+import com.learn.ej.chapter7.item42.Expression.Variable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Expression 을 미리 풀어 둔 계산기. 상수끼리의 연산은 컴파일할 때 계산해 둔다.
+ * <ul>
+ * <li>한 행 계산: 노드마다 연산자를 직접 쓴 람다를 만들어 중첩한다. 연산자 switch 와 Operation 호출은 없지만,
+ * 같은 모양의 노드는 식이 달라도 같은 람다 클래스를 쓴다. 컴파일한 식이 하나뿐이면 람다 안의 evaluate 호출이
+ * 단형(monomorphic)이라 JIT 가 식 전체를 인라인하지만, 모양이 다른 식을 여럿 계산하면 그 호출 지점이 다형
+ * (megamorphic)이 되어 노드마다 인터페이스 호출이 남는다.
+ * 여러 식을 많은 행에 계산한다면 호출이 블록마다 한 번뿐인 열 계산을 쓰는 편이 낫다.</li>
+ * <li>열 계산: 식을 레지스터 명령어 목록으로 바꾸고, 행을 BLOCK_SIZE 씩 잘라 Operation 의 배열 루프로 계산한다.
+ * 중간 결과는 캐시에 들어가는 블록 크기 버퍼에만 두고, 마지막 명령어는 out 에 바로 쓴다.</li>
+ * </ul>
+ * 결과는 Expression.interpret 와 비트 단위로 같다. 불변이라 여러 스레드에서 같이 써도 된다.
+ */
+public final class CompiledExpression {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private final Expression source;
+    private final int variableCount;
+    private final ScalarKernel kernel;
+    private final Expression leaf;
+    private final Instruction[] program;
+    private final int registerCount;
+
+    CompiledExpression(Expression source) {
+        this.source = source;
+        this.variableCount = source.variableCount();
+        Expression folded = fold(source);
+        this.kernel = kernel(folded);
+
+        List<Instruction> instructions = new ArrayList<>();
+        int[] maxRegisters = {0};
+        emit(folded, 0, instructions, maxRegisters);
+        if (instructions.isEmpty()) {
+            this.leaf = folded;
+            this.program = new Instruction[0];
+        } else {
+            // 마지막 명령어가 식의 값이므로 레지스터 대신 out 에 쓴다.
+            Instruction root = instructions.remove(instructions.size() - 1);
+            instructions.add(new Instruction(root.op, root.left, root.right, Operand.OUTPUT));
+            this.leaf = null;
+            this.program = instructions.toArray(new Instruction[0]);
+        }
+        this.registerCount = maxRegisters[0];
+    }
+
+    public int variableCount() {
+        return variableCount;
+    }
+
+    public double evaluate(double... variables) {
+        if (variables.length < variableCount) {
+            throw new IllegalArgumentException(
+                "expected " + variableCount + " variables but got " + variables.length);
+        }
+        return kernel.evaluate(variables);
+    }
+
+    // out[row] = 식(columns[0][row], columns[1][row], ...)
+    public void evaluate(double[][] columns, double[] out) {
+        checkColumns(columns, out.length);
+        evaluateRange(columns, out, 0, out.length);
+    }
+
+    // 행이 많으면 나눠서 common pool 에서 계산한다.
+    public void parallelEvaluate(double[][] columns, double[] out) {
+        checkColumns(columns, out.length);
+        ParallelRange.forEach(out.length, ParallelRange.DEFAULT_THRESHOLD,
+            (from, to) -> evaluateRange(columns, out, from, to));
+    }
+
+    private void evaluateRange(double[][] columns, double[] out, int from, int to) {
+        if (leaf instanceof Constant) {
+            Arrays.fill(out, from, to, ((Constant) leaf).value);
+            return;
+        }
+        if (leaf instanceof Variable) {
+            System.arraycopy(columns[((Variable) leaf).index], from, out, from, to - from);
+            return;
+        }
+        double[][] registers = new double[registerCount][Math.min(BLOCK_SIZE, to - from)];
+        for (int blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, to - blockStart);
+            for (Instruction instruction : program) {
+                instruction.execute(columns, registers, out, blockStart, length);
+            }
+        }
+    }
+
+    private void checkColumns(double[][] columns, int rows) {
+        if (columns.length < variableCount) {
+            throw new IllegalArgumentException(
+                "expected " + variableCount + " columns but got " + columns.length);
+        }
+        for (int i = 0; i < variableCount; i++) {
+            if (columns[i].length != rows) {
+                throw new IllegalArgumentException(
+                    "column " + i + " has " + columns[i].length + " rows but out has " + rows);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+
+    private static Expression fold(Expression e) {
+        if (!(e instanceof Binary)) {
+            return e;
+        }
+        Binary b = (Binary) e;
+        Expression left = fold(b.left);
+        Expression right = fold(b.right);
+        if (left instanceof Constant && right instanceof Constant) {
+            return new Constant(b.op.apply(((Constant) left).value, ((Constant) right).value));
+        }
+        return left == b.left && right == b.right ? b : new Binary(b.op, left, right);
+    }
+
+    @FunctionalInterface
+    private interface ScalarKernel {
+
+        double evaluate(double[] v);
+    }
+
+    // 자주 나오는 모양(변수 op 변수, 식 op 상수, 상수 op 식)은 잎을 람다 안에 바로 넣는다.
+    private static ScalarKernel kernel(Expression e) {
+        if (e instanceof Constant) {
+            double c = ((Constant) e).value;
+            return v -> c;
+        }
+        if (e instanceof Variable) {
+            int i = ((Variable) e).index;
+            return v -> v[i];
+        }
+        Binary b = (Binary) e;
+        if (b.left instanceof Variable && b.right instanceof Variable) {
+            int i = ((Variable) b.left).index;
+            int j = ((Variable) b.right).index;
+            switch (b.op) {
+                case PLUS:
+                    return v -> v[i] + v[j];
+                case MINUS:
+                    return v -> v[i] - v[j];
+                case TIMES:
+                    return v -> v[i] * v[j];
+                case DIVIDE:
+                    return v -> v[i] / v[j];
+                default:
+                    throw new AssertionError(b.op);
+            }
+        }
+        if (b.right instanceof Constant) {
+            ScalarKernel l = kernel(b.left);
+            double c = ((Constant) b.right).value;
+            switch (b.op) {
+                case PLUS:
+                    return v -> l.evaluate(v) + c;
+                case MINUS:
+                    return v -> l.evaluate(v) - c;
+                case TIMES:
+                    return v -> l.evaluate(v) * c;
+                case DIVIDE:
+                    return v -> l.evaluate(v) / c;
+                default:
+                    throw new AssertionError(b.op);
+            }
+        }
+        if (b.left instanceof Constant) {
+            double c = ((Constant) b.left).value;
+            ScalarKernel r = kernel(b.right);
+            switch (b.op) {
+                case PLUS:
+                    return v -> c + r.evaluate(v);
+                case MINUS:
+                    return v -> c - r.evaluate(v);
+                case TIMES:
+                    return v -> c * r.evaluate(v);
+                case DIVIDE:
+                    return v -> c / r.evaluate(v);
+                default:
+                    throw new AssertionError(b.op);
+            }
+        }
+        ScalarKernel l = kernel(b.left);
+        ScalarKernel r = kernel(b.right);
+        switch (b.op) {
+            case PLUS:
+                return v -> l.evaluate(v) + r.evaluate(v);
+            case MINUS:
+                return v -> l.evaluate(v) - r.evaluate(v);
+            case TIMES:
+                return v -> l.evaluate(v) * r.evaluate(v);
+            case DIVIDE:
+                return v -> l.evaluate(v) / r.evaluate(v);
+            default:
+                throw new AssertionError(b.op);
+        }
+    }
+
+    /*
+     * 후위 순회로 명령어를 만든다. 레지스터는 스택처럼 쓰고, 결과는 왼쪽 피연산자의 레지스터에 덮어쓴다.
+     * (원소마다 같은 위치끼리만 계산하므로 덮어써도 안전하다.)
+     */
+    private static Operand emit(Expression e, int freeRegister, List<Instruction> program, int[] maxRegisters) {
+        if (e instanceof Constant) {
+            return Operand.constant(((Constant) e).value);
+        }
+        if (e instanceof Variable) {
+            return Operand.column(((Variable) e).index);
+        }
+        Binary b = (Binary) e;
+        Operand left = emit(b.left, freeRegister, program, maxRegisters);
+        Operand right = emit(b.right, left.isRegister() ? freeRegister + 1 : freeRegister, program, maxRegisters);
+        Operand target = Operand.register(freeRegister);
+        maxRegisters[0] = Math.max(maxRegisters[0], freeRegister + 1);
+        program.add(new Instruction(b.op, left, right, target));
+        return target;
+    }
+
+    private static final class Operand {
+
+        private static final int COLUMN = 0;
+        private static final int REGISTER = 1;
+        private static final int CONSTANT = 2;
+        private static final int OUT = 3;
+
+        static final Operand OUTPUT = new Operand(OUT, -1, 0);
+
+        private final int kind;
+        private final int index;
+        private final double value;
+
+        private Operand(int kind, int index, double value) {
+            this.kind = kind;
+            this.index = index;
+            this.value = value;
+        }
+
+        static Operand column(int index) {
+            return new Operand(COLUMN, index, 0);
+        }
+
+        static Operand register(int index) {
+            return new Operand(REGISTER, index, 0);
+        }
+
+        static Operand constant(double value) {
+            return new Operand(CONSTANT, -1, value);
+        }
+
+        boolean isRegister() {
+            return kind == REGISTER;
+        }
+
+        double[] array(double[][] columns, double[][] registers, double[] out) {
+            switch (kind) {
+                case COLUMN:
+                    return columns[index];
+                case REGISTER:
+                    return registers[index];
+                case OUT:
+                    return out;
+                default:
+                    throw new AssertionError(kind);
+            }
+        }
+
+        // 열과 out 은 블록 시작 위치부터, 레지스터는 0 부터 쓴다.
+        int offset(int blockStart) {
+            return kind == REGISTER ? 0 : blockStart;
+        }
+    }
+
+    private static final class Instruction {
+
+        private final Operation op;
+        private final Operand left;
+        private final Operand right;
+        private final Operand target;
+
+        Instruction(Operation op, Operand left, Operand right, Operand target) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+            this.target = target;
+        }
+
+        void execute(double[][] columns, double[][] registers, double[] out, int blockStart, int length) {
+            double[] targetArray = target.array(columns, registers, out);
+            int targetOffset = target.offset(blockStart);
+            // 상수끼리의 연산은 fold 에서 없어졌다.
+            if (left.kind == Operand.CONSTANT) {
+                op.apply(left.value, right.array(columns, registers, out), right.offset(blockStart),
+                    targetArray, targetOffset, length);
+            } else if (right.kind == Operand.CONSTANT) {
+                op.apply(left.array(columns, registers, out), left.offset(blockStart), right.value,
+                    targetArray, targetOffset, length);
+            } else {
+                op.apply(left.array(columns, registers, out), left.offset(blockStart),
+                    right.array(columns, registers, out), right.offset(blockStart),
+                    targetArray, targetOffset, length);
+            }
+        }
+    }
+}
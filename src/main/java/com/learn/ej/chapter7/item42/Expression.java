@@ -0,0 +1,115 @@
+package com.learn.ej.chapter7.item42;
+
+import java.util.Objects;
+
+/**
+ * Operation 으로 만드는 산술식 트리. 잎은 상수와 변수(0부터 시작하는 번호)다.
+ * interpret 는 노드마다 재귀 호출하는 해석기이고, compile() 하면 한 번에 계산하는 CompiledExpression 이 된다.
+ * 불변이라 여러 스레드에서 같이 써도 된다.
+ */
+public abstract class Expression {
+
+    Expression() {
+    }
+
+    public static Expression constant(double value) {
+        return new Constant(value);
+    }
+
+    public static Expression variable(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index must not be negative: " + index);
+        }
+        return new Variable(index);
+    }
+
+    static Expression binary(Operation op, Expression left, Expression right) {
+        return new Binary(Objects.requireNonNull(op), Objects.requireNonNull(left), Objects.requireNonNull(right));
+    }
+
+    // 노드를 하나씩 방문해서 계산한다. variables[i] 가 variable(i) 의 값이다.
+    public abstract double interpret(double... variables);
+
+    public CompiledExpression compile() {
+        return new CompiledExpression(this);
+    }
+
+    // 식에 쓰인 변수 번호 중 가장 큰 것 + 1
+    abstract int variableCount();
+
+    static final class Constant extends Expression {
+
+        final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double interpret(double... variables) {
+            return value;
+        }
+
+        @Override
+        int variableCount() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return Double.toString(value);
+        }
+    }
+
+    static final class Variable extends Expression {
+
+        final int index;
+
+        Variable(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public double interpret(double... variables) {
+            return variables[index];
+        }
+
+        @Override
+        int variableCount() {
+            return index + 1;
+        }
+
+        @Override
+        public String toString() {
+            return "x" + index;
+        }
+    }
+
+    static final class Binary extends Expression {
+
+        final Operation op;
+        final Expression left;
+        final Expression right;
+
+        Binary(Operation op, Expression left, Expression right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public double interpret(double... variables) {
+            return op.apply(left.interpret(variables), right.interpret(variables));
+        }
+
+        @Override
+        int variableCount() {
+            return Math.max(left.variableCount(), right.variableCount());
+        }
+
+        @Override
+        public String toString() {
+            return op + "(" + left + ", " + right + ")";
+        }
+    }
+}
@@ -3,10 +3,94 @@ package com.learn.ej.chapter7.item42;
 import java.util.function.DoubleBinaryOperator;
 
 public enum Operation {
-    PLUS((x, y) -> x + y),
-    MINUS((x, y) -> x - y),
-    TIMES((x, y) -> x * y),
-    DIVIDE((x, y) -> x / y);
+    PLUS((x, y) -> x + y) {
+        @Override
+        void apply(double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] + y[yOffset + i];
+            }
+        }
+
+        @Override
+        void apply(double[] x, int xOffset, double y, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] + y;
+            }
+        }
+
+        @Override
+        void apply(double x, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x + y[yOffset + i];
+            }
+        }
+    },
+    MINUS((x, y) -> x - y) {
+        @Override
+        void apply(double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] - y[yOffset + i];
+            }
+        }
+
+        @Override
+        void apply(double[] x, int xOffset, double y, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] - y;
+            }
+        }
+
+        @Override
+        void apply(double x, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x - y[yOffset + i];
+            }
+        }
+    },
+    TIMES((x, y) -> x * y) {
+        @Override
+        void apply(double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] * y[yOffset + i];
+            }
+        }
+
+        @Override
+        void apply(double[] x, int xOffset, double y, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] * y;
+            }
+        }
+
+        @Override
+        void apply(double x, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x * y[yOffset + i];
+            }
+        }
+    },
+    DIVIDE((x, y) -> x / y) {
+        @Override
+        void apply(double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] / y[yOffset + i];
+            }
+        }
+
+        @Override
+        void apply(double[] x, int xOffset, double y, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x[xOffset + i] / y;
+            }
+        }
+
+        @Override
+        void apply(double x, double[] y, int yOffset, double[] out, int outOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                out[outOffset + i] = x / y[yOffset + i];
+            }
+        }
+    };
 
     private final DoubleBinaryOperator op;
 
@@ -17,4 +101,68 @@ public enum Operation {
     public double apply(double x, double y) {
         return op.applyAsDouble(x, y);
     }
+
+    // TIMES.of(PLUS.of(a, b), c) 처럼 식을 만든다.
+    public Expression of(Expression left, Expression right) {
+        return Expression.binary(this, left, right);
+    }
+
+    /*
+     * 배열 연산. 원소마다 람다를 부르면 JIT 가 루프를 벡터화하지 못하므로, 상수별 메서드 몸체에 연산자를 직접 쓴 루프를 둔다.
+     * 원소 하나하나의 계산은 apply(double, double) 와 같아서 결과도 비트 단위로 같다.
+     * out 은 x, y 와 같은 배열이어도 된다.
+     */
+
+    // out[i] = x[i] op y[i]
+    public void apply(double[] x, double[] y, double[] out) {
+        checkLength(x.length, y.length, out.length);
+        apply(x, 0, y, 0, out, 0, out.length);
+    }
+
+    // out[i] = x[i] op y
+    public void apply(double[] x, double y, double[] out) {
+        checkLength(x.length, x.length, out.length);
+        apply(x, 0, y, out, 0, out.length);
+    }
+
+    // out[i] = x op y[i]
+    public void apply(double x, double[] y, double[] out) {
+        checkLength(y.length, y.length, out.length);
+        apply(x, y, 0, out, 0, out.length);
+    }
+
+    // 길이가 ParallelRange.DEFAULT_THRESHOLD 를 넘으면 나눠서 common pool 에서 계산한다.
+    public void parallelApply(double[] x, double[] y, double[] out) {
+        checkLength(x.length, y.length, out.length);
+        ParallelRange.forEach(out.length, ParallelRange.DEFAULT_THRESHOLD,
+            (from, to) -> apply(x, from, y, from, out, from, to - from));
+    }
+
+    public void parallelApply(double[] x, double y, double[] out) {
+        checkLength(x.length, x.length, out.length);
+        ParallelRange.forEach(out.length, ParallelRange.DEFAULT_THRESHOLD,
+            (from, to) -> apply(x, from, y, out, from, to - from));
+    }
+
+    public void parallelApply(double x, double[] y, double[] out) {
+        checkLength(y.length, y.length, out.length);
+        ParallelRange.forEach(out.length, ParallelRange.DEFAULT_THRESHOLD,
+            (from, to) -> apply(x, y, from, out, from, to - from));
+    }
+
+    // out[outOffset + i] = x[xOffset + i] op y[yOffset + i] (0 <= i < length)
+    abstract void apply(double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length);
+
+    // out[outOffset + i] = x[xOffset + i] op y
+    abstract void apply(double[] x, int xOffset, double y, double[] out, int outOffset, int length);
+
+    // out[outOffset + i] = x op y[yOffset + i]
+    abstract void apply(double x, double[] y, int yOffset, double[] out, int outOffset, int length);
+
+    private static void checkLength(int xLength, int yLength, int outLength) {
+        if (xLength != outLength || yLength != outLength) {
+            throw new IllegalArgumentException(
+                "array lengths must match: x=" + xLength + ", y=" + yLength + ", out=" + outLength);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.learn.ej.chapter7.item42;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// [0, length) 를 반씩 나눠 fork-join 으로 처리한다. 조각이 threshold 이하가 되면 그대로 실행한다.
+final class ParallelRange {
+
+    static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private ParallelRange() {
+    }
+
+    @FunctionalInterface
+    interface RangeAction {
+
+        void apply(int from, int to);
+    }
+
+    static void forEach(int length, int threshold, RangeAction action) {
+        if (length <= threshold) {
+            action.apply(0, length);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new Task(action, 0, length, threshold));
+    }
+
+    private static final class Task extends RecursiveAction {
+
+        private final RangeAction action;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private Task(RangeAction action, int from, int to, int threshold) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                action.apply(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Task(action, from, mid, threshold), new Task(action, mid, to, threshold));
+        }
+    }
+}
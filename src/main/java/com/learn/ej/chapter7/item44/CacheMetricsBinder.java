@@ -0,0 +1,69 @@
+package com.learn.ej.chapter7.item44;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * item44 캐시의 StatsCounter 를 Micrometer 에 cache.gets / cache.evictions / cache.load 로 노출한다.
+ * (Micrometer 의 CacheMeterBinder 와 같은 이름을 쓴다)
+ * <p>
+ * MeterRegistry 가 준비되기 전에 등록한 캐시는 bindTo 시점에, 그 뒤에 등록한 캐시는 바로 바인딩된다.
+ * 미터는 조회될 때만 카운터를 읽으므로 기록 경로에는 비용이 없다. 미터마다 필요한 카운터 하나만 읽고 스냅샷은 만들지 않는다.
+ */
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final Map<String, StatsCounter> caches = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public void register(String cacheName, StatsCounter stats) {
+        if (caches.putIfAbsent(cacheName, stats) != null) {
+            throw new IllegalArgumentException("cache already registered: " + cacheName);
+        }
+        MeterRegistry current = registry;
+        if (current != null) {
+            bind(current, cacheName, stats);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        caches.forEach((cacheName, stats) -> bind(registry, cacheName, stats));
+    }
+
+    private static void bind(MeterRegistry registry, String cacheName, StatsCounter stats) {
+        FunctionCounter.builder("cache.gets", stats, StatsCounter::hitCount)
+            .tags("cache", cacheName, "result", "hit")
+            .description("The number of times cache lookup methods have returned a cached value.")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", stats, StatsCounter::missCount)
+            .tags("cache", cacheName, "result", "miss")
+            .description("The number of times cache lookup methods have returned an uncached value.")
+            .register(registry);
+
+        for (EvictionCause cause : EvictionCause.values()) {
+            FunctionCounter.builder("cache.evictions", stats, s -> s.evictionCount(cause))
+                .tags("cache", cacheName, "cause", cause.name().toLowerCase(Locale.ROOT))
+                .description("The number of entries evicted from the cache.")
+                .register(registry);
+        }
+
+        FunctionTimer.builder("cache.load", stats,
+                s -> s.loadSuccessCount() + s.loadFailureCount(),
+                StatsCounter::totalLoadTimeNanos,
+                TimeUnit.NANOSECONDS)
+            .tags("cache", cacheName)
+            .description("The time the cache has spent loading new values.")
+            .register(registry);
+        FunctionCounter.builder("cache.load.failures", stats, StatsCounter::loadFailureCount)
+            .tags("cache", cacheName)
+            .description("The number of times loading a value threw an exception.")
+            .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.learn.ej.chapter7.item44;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 어느 한 시점의 캐시 통계. 카운터마다 따로 읽으므로 카운터 사이의 값이 정확히 같은 시점은 아니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTimeNanos;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] evictionCounts;
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public long evictionCount(EvictionCause cause) {
+        return evictionCounts[cause.ordinal()];
+    }
+
+    public long evictionCount() {
+        long total = 0;
+        for (long count : evictionCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public double averageLoadPenaltyNanos() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) totalLoadTimeNanos / loadCount;
+    }
+}
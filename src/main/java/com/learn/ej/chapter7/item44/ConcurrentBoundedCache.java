@@ -0,0 +1,368 @@
+package com.learn.ej.chapter7.item44;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * UpgradeLinkedHashMap 의 "교체 조건을 함수로 주입한다" 는 생각을 동시성 캐시로 옮긴 것.
+ * <p>
+ * 값은 ConcurrentHashMap 에 두고 읽기는 락 없이 처리한다. 읽기 기록은 ReadBuffer 에 모았다가
+ * 쓰기(또는 버퍼가 찼을 때) eviction 락을 잡은 스레드가 정책에 한꺼번에 반영한다.
+ * 쓰기와 교체는 eviction 락 하나로 직렬화되며, 한도를 넘은 만큼 한 번에 여러 개를 내보낸다.
+ */
+public class ConcurrentBoundedCache<K, V> {
+
+    private static final long UNSET = -1;
+
+    private final ConcurrentHashMap<K, Node<V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, LoadingFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K> readBuffer = new ReadBuffer<>();
+
+    // evictionLock 으로 보호한다.
+    private final EvictionPolicy<K> policy;
+    private long weightedSize;
+
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+    private final StatsCounter statsCounter;
+
+    private ConcurrentBoundedCache(Builder<K, V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.ticker = builder.ticker;
+        this.statsCounter = builder.statsCounter;
+        this.policy = builder.evictionPolicy.apply(builder.maximumWeight);
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    public V getIfPresent(K key) {
+        Node<V> node = data.get(key);
+        if (node == null) {
+            statsCounter.recordMiss();
+            return null;
+        }
+        if (expires()) {
+            long now = ticker.getAsLong();
+            if (isExpired(node, now)) {
+                expire(key, node);
+                statsCounter.recordMiss();
+                return null;
+            }
+            if (expireAfterAccessNanos != UNSET) {
+                node.accessTime = now;
+            }
+        }
+        afterRead(key);
+        statsCounter.recordHit();
+        return node.value;
+    }
+
+    /**
+     * 없으면 loader 로 읽어 넣는다. 같은 키를 동시에 요청하면 loader 는 한 번만 호출되고 나머지는 그 결과를 기다린다.
+     * loader 가 null 을 반환하면 캐시하지 않고 로딩 실패로 기록한다.
+     * <p>
+     * loader 안에서 같은 키를 다시 요청하면(간접적으로라도) 자기 자신의 결과를 기다리며 멈추므로,
+     * ConcurrentHashMap.computeIfAbsent 처럼 IllegalStateException 을 던진다. 다른 스레드를 거치는 순환은 찾지 못한다.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        LoadingFuture<V> future = new LoadingFuture<>();
+        LoadingFuture<V> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            if (inFlight.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive load of key: " + key);
+            }
+            return await(inFlight);
+        }
+        long startTime = System.nanoTime();
+        try {
+            // 앞선 로딩이 putIfAbsent 직전에 끝났을 수 있다.
+            Node<V> node = data.get(key);
+            value = node == null || (expires() && isExpired(node, ticker.getAsLong())) ? null : node.value;
+            if (value == null) {
+                value = loader.apply(key);
+                // Caffeine 처럼 값이 없는 로딩은 실패로 센다. 성공으로 세면 로딩 성공률이 부풀려진다.
+                if (value == null) {
+                    statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+                } else {
+                    statsCounter.recordLoadSuccess(System.nanoTime() - startTime);
+                    put(key, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - startTime);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative: " + weight);
+        }
+        long now = expires() ? ticker.getAsLong() : 0L;
+        Node<V> node = new Node<>(value, weight, now);
+
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            Node<V> old = data.put(key, node);
+            if (old == null) {
+                policy.onInsert(key, weight);
+            } else {
+                policy.onUpdate(key, old.weight, weight);
+                weightedSize -= old.weight;
+            }
+            weightedSize += weight;
+            evictIfNeeded();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public V remove(K key) {
+        evictionLock.lock();
+        try {
+            Node<V> old = data.remove(key);
+            if (old == null) {
+                return null;
+            }
+            policy.onRemove(key);
+            weightedSize -= old.weight;
+            return old.value;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (K key : data.keySet()) {
+            remove(key);
+        }
+    }
+
+    // 만료된 항목을 훑어서 지운다. 만료는 읽을 때 늦게 처리되므로 주기적으로 불러주면 메모리를 빨리 돌려받는다.
+    public void cleanUp() {
+        if (expires()) {
+            long now = ticker.getAsLong();
+            data.forEach((key, node) -> {
+                if (isExpired(node, now)) {
+                    expire(key, node);
+                }
+            });
+        }
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    public long estimatedSize() {
+        return data.mappingCount();
+    }
+
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void afterRead(K key) {
+        if (readBuffer.offer(key) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(policy::onAccess);
+    }
+
+    // 한도 안으로 들어올 때까지 여러 개를 내보낸다. 한도보다 무거운 항목은 넣자마자 나간다.
+    private void evictIfNeeded() {
+        while (weightedSize > maximumWeight) {
+            K victim = policy.victim();
+            if (victim == null) {
+                return;
+            }
+            Node<V> node = data.remove(victim);
+            policy.onRemove(victim);
+            if (node != null) {
+                weightedSize -= node.weight;
+                statsCounter.recordEviction(EvictionCause.SIZE);
+            }
+        }
+    }
+
+    private void expire(K key, Node<V> node) {
+        evictionLock.lock();
+        try {
+            if (data.remove(key, node)) {
+                policy.onRemove(key);
+                weightedSize -= node.weight;
+                statsCounter.recordEviction(EvictionCause.EXPIRED);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean expires() {
+        return expireAfterWriteNanos != UNSET || expireAfterAccessNanos != UNSET;
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        return (expireAfterWriteNanos != UNSET && now - node.writeTime >= expireAfterWriteNanos)
+            || (expireAfterAccessNanos != UNSET && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    // 로딩 중인 스레드를 기억해서 재진입을 찾는다.
+    private static final class LoadingFuture<V> extends CompletableFuture<V> {
+
+        private final Thread owner = Thread.currentThread();
+    }
+
+    private static final class Node<V> {
+
+        private final V value;
+        private final int weight;
+        private final long writeTime;
+        private volatile long accessTime;
+
+        private Node(V value, int weight, long now) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    public static final class Builder<K, V> {
+
+        private long maximumWeight = UNSET;
+        private ToIntBiFunction<? super K, ? super V> weigher = (k, v) -> 1;
+        private long expireAfterWriteNanos = UNSET;
+        private long expireAfterAccessNanos = UNSET;
+        private LongFunction<? extends EvictionPolicy<K>> evictionPolicy = WindowTinyLfuPolicy::new;
+        private LongSupplier ticker = System::nanoTime;
+        private StatsCounter statsCounter = StatsCounter.disabled();
+
+        private Builder() {
+        }
+
+        public Builder<K, V> recordStats() {
+            return statsCounter(StatsCounter.concurrent());
+        }
+
+        public Builder<K, V> statsCounter(StatsCounter statsCounter) {
+            this.statsCounter = statsCounter;
+            return this;
+        }
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            return maximumWeight(maximumSize);
+        }
+
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            if (maximumWeight < 1) {
+                throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        public Builder<K, V> weigher(ToIntBiFunction<? super K, ? super V> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = duration.toNanos();
+            return this;
+        }
+
+        public Builder<K, V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessNanos = duration.toNanos();
+            return this;
+        }
+
+        // 최대 가중치를 받아 정책을 만든다. ex) WindowTinyLfuPolicy::new, w -> new WindowTinyLfuPolicy<>(w, 100_000)
+        public Builder<K, V> evictionPolicy(LongFunction<? extends EvictionPolicy<K>> evictionPolicy) {
+            this.evictionPolicy = evictionPolicy;
+            return this;
+        }
+
+        // 최대 가중치가 필요 없는 정책. ex) LruPolicy::new
+        public Builder<K, V> evictionPolicy(Supplier<? extends EvictionPolicy<K>> evictionPolicy) {
+            return evictionPolicy(maximumWeight -> evictionPolicy.get());
+        }
+
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public ConcurrentBoundedCache<K, V> build() {
+            if (maximumWeight == UNSET) {
+                throw new IllegalStateException("maximumSize or maximumWeight is required");
+            }
+            return new ConcurrentBoundedCache<>(this);
+        }
+    }
+}
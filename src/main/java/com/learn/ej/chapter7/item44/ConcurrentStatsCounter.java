@@ -0,0 +1,92 @@
+package com.learn.ej.chapter7.item44;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LongAdder 로 만든 striped 카운터. 경합이 없으면 CAS 한 번, 있으면 스레드마다 다른 셀에 더하므로
+ * 여러 코어에서 동시에 기록해도 한 캐시 라인을 두고 다투지 않는다.
+ */
+class ConcurrentStatsCounter implements StatsCounter {
+
+    private static final EvictionCause[] CAUSES = EvictionCause.values();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder[] evictionCounts = new LongAdder[CAUSES.length];
+
+    ConcurrentStatsCounter() {
+        for (int i = 0; i < evictionCounts.length; i++) {
+            evictionCounts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordHit() {
+        hitCount.increment();
+    }
+
+    @Override
+    public void recordMiss() {
+        missCount.increment();
+    }
+
+    @Override
+    public void recordEviction(EvictionCause cause) {
+        evictionCounts[cause.ordinal()].increment();
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadNanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadNanos);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadNanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadNanos);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        long[] evictions = new long[CAUSES.length];
+        for (int i = 0; i < evictions.length; i++) {
+            evictions[i] = evictionCounts[i].sum();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+            totalLoadTime.sum(), evictions);
+    }
+
+    @Override
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long loadSuccessCount() {
+        return loadSuccessCount.sum();
+    }
+
+    @Override
+    public long loadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    @Override
+    public long totalLoadTimeNanos() {
+        return totalLoadTime.sum();
+    }
+
+    @Override
+    public long evictionCount(EvictionCause cause) {
+        return evictionCounts[cause.ordinal()].sum();
+    }
+}
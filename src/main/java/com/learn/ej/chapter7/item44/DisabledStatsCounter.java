@@ -0,0 +1,62 @@
+package com.learn.ej.chapter7.item44;
+
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, new long[EvictionCause.values().length]);
+
+    @Override
+    public void recordHit() {
+    }
+
+    @Override
+    public void recordMiss() {
+    }
+
+    @Override
+    public void recordEviction(EvictionCause cause) {
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadNanos) {
+    }
+
+    @Override
+    public void recordLoadFailure(long loadNanos) {
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return EMPTY;
+    }
+
+    @Override
+    public long hitCount() {
+        return 0;
+    }
+
+    @Override
+    public long missCount() {
+        return 0;
+    }
+
+    @Override
+    public long loadSuccessCount() {
+        return 0;
+    }
+
+    @Override
+    public long loadFailureCount() {
+        return 0;
+    }
+
+    @Override
+    public long totalLoadTimeNanos() {
+        return 0;
+    }
+
+    @Override
+    public long evictionCount(EvictionCause cause) {
+        return 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.learn.ej.chapter7.item44;
+
+public enum EvictionCause {
+
+    // 최대 크기/가중치를 넘어서 교체 정책이 고른 항목
+    SIZE,
+
+    // expireAfterWrite/expireAfterAccess 가 지난 항목
+    EXPIRED,
+
+    // eldestPredicate 가 true 를 반환해서 지운 가장 오래된 항목
+    PREDICATE,
+
+    // 힙 밖 슬랩에 자리가 없어서 지운 항목
+    SLAB_FULL
+}
@@ -0,0 +1,22 @@
+package com.learn.ej.chapter7.item44;
+
+/**
+ * ConcurrentBoundedCache 의 교체 정책. 캐시의 eviction 락 안에서만 호출되므로 스레드 안전할 필요는 없다.
+ * <p>
+ * UpgradeLinkedHashMap 의 eldestPredicate 가 "언제" 지울지를 정했다면, 이 정책은 "무엇을" 지울지를 정한다.
+ * 지울지 여부는 캐시가 가중치 합계로 판단하고, 정책은 victim() 으로 후보 키만 고른다.
+ */
+public interface EvictionPolicy<K> {
+
+    void onInsert(K key, int weight);
+
+    // 없는 키에 대한 접근 기록은 무시해야 한다. (읽기 기록은 지연되어 전달된다)
+    void onAccess(K key);
+
+    void onUpdate(K key, int oldWeight, int newWeight);
+
+    void onRemove(K key);
+
+    // 다음에 내보낼 키. 캐시는 이 키를 지운 뒤 onRemove 를 호출한다. 비어 있으면 null.
+    K victim();
+}
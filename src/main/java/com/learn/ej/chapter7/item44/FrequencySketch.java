@@ -0,0 +1,108 @@
+package com.learn.ej.chapter7.item44;
+
+/**
+ * TinyLFU 가 쓰는 count-min sketch. 키마다 4비트 카운터 4개를 두고 그 중 최솟값을 빈도로 본다.
+ * 카운터 16개를 long 하나에 담고, 일정 횟수만큼 기록하면 모든 카운터를 절반으로 줄여(aging) 오래된 인기를 잊는다.
+ * 크기는 가중치가 아니라 항목 수에 맞춘다. 작게 시작해서 ensureCapacity 로 키운다.
+ * 인덱스는 해시의 하위 비트로 고르므로, 표를 2^k 배로 늘리면서 기존 표를 반복해 복사하면 모든 키의 카운터가 그대로 남는다.
+ * 그래서 Caffeine 과 달리 키울 때 그동안의 빈도를 버리지 않는다.
+ * 스레드 안전하지 않다.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedSize) {
+        ensureCapacity(expectedSize);
+    }
+
+    // 이미 충분히 크면 아무것도 하지 않으므로 삽입마다 불러도 된다.
+    void ensureCapacity(long expectedSize) {
+        int capacity = (int) Math.min(Math.max(expectedSize, 16), MAXIMUM_CAPACITY);
+        if (table != null && table.length >= capacity) {
+            return;
+        }
+        long[] grown = new long[ceilingPowerOfTwo(capacity)];
+        if (table != null) {
+            for (int offset = 0; offset < grown.length; offset += table.length) {
+                System.arraycopy(table, 0, grown, offset, table.length);
+            }
+        }
+        table = grown;
+        tableMask = table.length - 1;
+        sampleSize = 10 * capacity < 0 ? Integer.MAX_VALUE : 10 * capacity;
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    // 모든 카운터를 절반으로 줄인다. 홀수였던 카운터에서 버려진 1 만큼 additions 도 보정한다.
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += (h >>> 32);
+        return ((int) h) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.learn.ej.chapter7.item44;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 접근 순서 LinkedHashMap 으로 구현한 LRU. 가장 오래 접근되지 않은 키부터 내보낸다.
+ */
+public class LruPolicy<K> implements EvictionPolicy<K> {
+
+    private final LinkedHashMap<K, Integer> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void onInsert(K key, int weight) {
+        entries.put(key, weight);
+    }
+
+    @Override
+    public void onAccess(K key) {
+        entries.get(key);
+    }
+
+    @Override
+    public void onUpdate(K key, int oldWeight, int newWeight) {
+        entries.put(key, newWeight);
+    }
+
+    @Override
+    public void onRemove(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public K victim() {
+        Iterator<K> it = entries.keySet().iterator();
+        return it.hasNext() ? it.next() : null;
+    }
+}
@@ -0,0 +1,346 @@
+package com.learn.ej.chapter7.item44;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 값을 힙 밖 슬랩에 직렬화해 두는 UpgradeLinkedHashMap. 힙에는 키와 작은 색인 항목(주소, 길이)만 남아서
+ * 캐시가 커져도 old gen 에 쌓이는 객체 수가 늘지 않는다.
+ * <p>
+ * eldestPredicate 는 UpgradeLinkedHashMap 과 같은 시점(새 항목을 넣은 직후)에 같은 방식으로 호출된다.
+ * 그와 별개로 슬랩이 가득 차면 가장 오래된 항목부터 내보내 자리를 만든다. 스레드 안전하지 않다.
+ * get 은 매번 값을 역직렬화하므로 반환된 객체를 고쳐도 맵에는 반영되지 않는다.
+ * <p>
+ * 값은 호출한 쪽이 요청할 때만 역직렬화한다. keySet 을 순회하거나 entrySet 을 순회하며 getKey 만 부르면
+ * 값을 읽지 않는다. put 은 Map 규약대로 이전 값을 역직렬화해서 돌려주므로, 이전 값이 필요 없으면
+ * 덮어쓴 여부만 알려주는 set 을 쓴다.
+ */
+public class OffHeapUpgradeLinkedHashMap<K, V> extends AbstractMap<K, V> {
+
+    // put 이 덮어쓰는 동안 그 키의 자리를 지키는 표시. allocate 가 이 키를 내보내지 않는다.
+    private static final Slot RESERVED = new Slot(SlabAllocator.OUT_OF_MEMORY, 0);
+
+    private final Predicate<Map<K, V>> eldestPredicate;
+    private final ValueSerializer<V> serializer;
+    private final SlabAllocator slabs;
+    private final StatsCounter statsCounter;
+    private final Index index = new Index();
+
+    public OffHeapUpgradeLinkedHashMap(ValueSerializer<V> serializer, SlabAllocator slabs) {
+        this(m -> false, serializer, slabs);
+    }
+
+    public OffHeapUpgradeLinkedHashMap(Predicate<Map<K, V>> eldestPredicate, ValueSerializer<V> serializer,
+        SlabAllocator slabs) {
+        this(eldestPredicate, serializer, slabs, StatsCounter.disabled());
+    }
+
+    public OffHeapUpgradeLinkedHashMap(Predicate<Map<K, V>> eldestPredicate, ValueSerializer<V> serializer,
+        SlabAllocator slabs, StatsCounter statsCounter) {
+        this.eldestPredicate = eldestPredicate;
+        this.serializer = serializer;
+        this.slabs = slabs;
+        this.statsCounter = statsCounter;
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            statsCounter.recordMiss();
+            return null;
+        }
+        statsCounter.recordHit();
+        return read(slot);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Slot existing = index.get(key);
+        V previous = existing == null ? null : read(existing);
+        set(key, value);
+        return previous;
+    }
+
+    /**
+     * put 과 같지만 이전 값을 역직렬화하지 않는다.
+     *
+     * @return 이미 있던 키의 값을 덮어썼으면 true
+     */
+    public boolean set(K key, V value) {
+        int length = serializer.sizeOf(value);
+        // 덮어쓸 슬롯을 색인에서 빼 두어서 슬랩이 가득 차도 이 키가 내보내지지 않게 한다. 키의 순서는 그대로다.
+        Slot old = index.replace(key, RESERVED);
+        boolean replaced = old != null;
+        long address = allocate(length);
+        if (address == SlabAllocator.OUT_OF_MEMORY && old != null) {
+            // 다른 항목을 모두 내보내도 자리가 없으면 덮어쓸 값의 자리를 먼저 돌려준다.
+            slabs.free(old.address, old.length);
+            old = null;
+            address = slabs.allocate(length);
+        }
+        if (address == SlabAllocator.OUT_OF_MEMORY) {
+            restore(key, old);
+            throw new IllegalStateException("slab has no room for a value of " + length + " bytes");
+        }
+        try {
+            serializer.write(value, slabs.buffer(address, length));
+        } catch (RuntimeException | Error e) {
+            slabs.free(address, length);
+            restore(key, old);
+            throw e;
+        }
+
+        index.put(key, new Slot(address, length));
+        if (old != null) {
+            slabs.free(old.address, old.length);
+        }
+        return replaced;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Slot slot = index.remove(key);
+        if (slot == null) {
+            return null;
+        }
+        V previous = read(slot);
+        slabs.free(slot.address, slot.length);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        for (Slot slot : index.values()) {
+            slabs.free(slot.address, slot.length);
+        }
+        index.clear();
+    }
+
+    // 키만 순회할 때는 값을 역직렬화하지 않는다.
+    @Override
+    public Set<K> keySet() {
+        return new KeySet();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    // 슬랩이 모자라면 가장 오래된 항목을 내보내며 다시 시도한다. 내보낼 항목이 없으면 OUT_OF_MEMORY
+    private long allocate(int length) {
+        while (true) {
+            long address = slabs.allocate(length);
+            if (address != SlabAllocator.OUT_OF_MEMORY) {
+                return address;
+            }
+            Iterator<Slot> eldest = index.values().iterator();
+            Slot slot = null;
+            while (eldest.hasNext() && (slot = eldest.next()) == RESERVED) {
+                slot = null;
+            }
+            if (slot == null) {
+                return SlabAllocator.OUT_OF_MEMORY;
+            }
+            eldest.remove();
+            slabs.free(slot.address, slot.length);
+            statsCounter.recordEviction(EvictionCause.SLAB_FULL);
+        }
+    }
+
+    // put 이 실패했을 때 덮어쓰려던 슬롯을 되돌린다. 이미 돌려준 슬롯이면 키를 지운다.
+    private void restore(K key, Slot old) {
+        if (old != null) {
+            index.put(key, old);
+        } else if (index.get(key) == RESERVED) {
+            index.remove(key);
+        }
+    }
+
+    private V read(Slot slot) {
+        return serializer.read(slabs.buffer(slot.address, slot.length));
+    }
+
+    private static final class Slot {
+
+        private final long address;
+        private final int length;
+
+        private Slot(long address, int length) {
+            this.address = address;
+            this.length = length;
+        }
+    }
+
+    private final class Index extends LinkedHashMap<K, Slot> {
+
+        @Override
+        protected boolean removeEldestEntry(Entry<K, Slot> eldest) {
+            if (eldestPredicate.test(OffHeapUpgradeLinkedHashMap.this)) {
+                slabs.free(eldest.getValue().address, eldest.getValue().length);
+                statsCounter.recordEviction(EvictionCause.PREDICATE);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // 색인을 순회하면서 지운 항목의 슬롯을 돌려준다.
+    private abstract class SlotIterator<T> implements Iterator<T> {
+
+        private final Iterator<Entry<K, Slot>> it = index.entrySet().iterator();
+        private Slot last;
+
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        @Override
+        public T next() {
+            Entry<K, Slot> entry = it.next();
+            last = entry.getValue();
+            return next(entry.getKey(), last);
+        }
+
+        abstract T next(K key, Slot slot);
+
+        @Override
+        public void remove() {
+            it.remove();
+            slabs.free(last.address, last.length);
+            last = null;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public int size() {
+            return index.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return index.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            Slot slot = index.remove(o);
+            if (slot == null) {
+                return false;
+            }
+            slabs.free(slot.address, slot.length);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            OffHeapUpgradeLinkedHashMap.this.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new SlotIterator<>() {
+                @Override
+                K next(K key, Slot slot) {
+                    return key;
+                }
+            };
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return index.size();
+        }
+
+        @Override
+        public void clear() {
+            OffHeapUpgradeLinkedHashMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new SlotIterator<>() {
+                @Override
+                Entry<K, V> next(K key, Slot slot) {
+                    return new OffHeapEntry(key, slot);
+                }
+            };
+        }
+    }
+
+    // getValue 를 부를 때 역직렬화한다. 항목이 지워지거나 덮어써진 뒤에는 값을 읽을 수 없다.
+    private final class OffHeapEntry implements Entry<K, V> {
+
+        private final K key;
+        private final Slot slot;
+
+        private OffHeapEntry(K key, Slot slot) {
+            this.key = key;
+            this.slot = slot;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            if (index.get(key) != slot) {
+                throw new IllegalStateException("entry is no longer in the map: " + key);
+            }
+            return read(slot);
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.learn.ej.chapter7.item44;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 읽기 기록을 모아두는 손실 허용 버퍼. 스레드별로 stripe 를 나눠 경합을 줄이고, 가득 차면 기록을 버린다.
+ * 읽기마다 eviction 락을 잡지 않고, 락을 잡은 쪽이 한꺼번에 정책에 반영한다.
+ */
+final class ReadBuffer<K> {
+
+    private static final int STRIPES = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    ReadBuffer() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return 버퍼가 가득 차서 비워줘야 하면 true
+     */
+    boolean offer(K key) {
+        Stripe stripe = stripes[stripeIndex()];
+        long head = stripe.readCounter;
+        long tail = stripe.writeCounter.get();
+        long size = tail - head;
+        if (size >= BUFFER_SIZE) {
+            return true;
+        }
+        if (stripe.writeCounter.compareAndSet(tail, tail + 1)) {
+            stripe.buffer.lazySet((int) (tail & BUFFER_MASK), key);
+            return size + 1 >= BUFFER_SIZE;
+        }
+        // 다른 스레드와 경합했다. 기록 하나쯤은 버려도 된다.
+        return false;
+    }
+
+    // eviction 락을 잡은 스레드만 호출한다.
+    @SuppressWarnings("unchecked")
+    void drainTo(Consumer<K> consumer) {
+        for (Stripe stripe : stripes) {
+            long head = stripe.readCounter;
+            long tail = stripe.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & BUFFER_MASK);
+                Object key = stripe.buffer.get(index);
+                if (key == null) {
+                    // 자리는 잡았지만 아직 값을 쓰지 않았다. 다음 drain 에서 처리한다.
+                    break;
+                }
+                stripe.buffer.lazySet(index, null);
+                consumer.accept((K) key);
+            }
+            stripe.readCounter = head;
+        }
+    }
+
+    private static int stripeIndex() {
+        int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return x <= 1 ? 1 : 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+    private static final class Stripe {
+
+        private final AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+    }
+}
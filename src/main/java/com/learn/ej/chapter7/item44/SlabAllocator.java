@@ -0,0 +1,178 @@
+package com.learn.ej.chapter7.item44;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * direct ByteBuffer 세그먼트를 2의 거듭제곱 크기 슬롯으로 나눠 주는 buddy 할당기. 힙 밖에 있으므로 GC 가 훑지 않는다.
+ * <p>
+ * 주소는 (세그먼트 번호 << 32 | 오프셋) 으로 표현한다. 필요한 등급이 비어 있으면 더 큰 빈 슬롯을 반씩 쪼개서 쓰고,
+ * 해제할 때 짝(buddy, 오프셋 ^ 슬롯 크기)도 비어 있으면 다시 합친다. 그래서 작은 값으로 잘게 쪼개진 뒤에도
+ * 모두 해제하면 큰 값을 넣을 수 있다.
+ * <p>
+ * 빈 슬롯은 등급별 이중 연결 리스트로 묶고, 링크(prev, next)는 빈 슬롯 자신의 앞 16바이트에 둔다.
+ * 어떤 슬롯이 어느 등급으로 비어 있는지는 세그먼트별 비트맵으로 안다.
+ * 세그먼트 자체는 할당기가 GC 될 때 함께 반환된다. 스레드 안전하지 않다.
+ */
+public class SlabAllocator {
+
+    public static final long OUT_OF_MEMORY = -1L;
+
+    private static final int MIN_SLOT_SHIFT = 6;
+    private static final long NIL = -1L;
+
+    private final int segmentSize;
+    private final int maxSegments;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    // 세그먼트마다 등급별 "비어 있음" 비트. 등급 c 의 비트는 levelBase[c] + (오프셋 >>> 슬롯 크기 지수) 에 있다.
+    private final List<BitSet> freeBits = new ArrayList<>();
+    private final int[] levelBase;
+    private final long[] freeHeads;
+    private long usedBytes;
+
+    public SlabAllocator(int segmentSize, int maxSegments) {
+        if (Integer.bitCount(segmentSize) != 1 || segmentSize < (1 << MIN_SLOT_SHIFT)) {
+            throw new IllegalArgumentException("segmentSize must be a power of two >= 64: " + segmentSize);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("maxSegments must be positive: " + maxSegments);
+        }
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        int classes = Integer.numberOfTrailingZeros(segmentSize) - MIN_SLOT_SHIFT + 1;
+        this.freeHeads = new long[classes];
+        Arrays.fill(freeHeads, NIL);
+        this.levelBase = new int[classes + 1];
+        for (int c = 0; c < classes; c++) {
+            levelBase[c + 1] = levelBase[c] + (segmentSize >>> (c + MIN_SLOT_SHIFT));
+        }
+    }
+
+    /**
+     * @return 슬롯 주소. 세그먼트를 더 만들 수 없으면 OUT_OF_MEMORY
+     */
+    public long allocate(int length) {
+        int sizeClass = sizeClassOf(length);
+        int c = sizeClass;
+        while (c < freeHeads.length && freeHeads[c] == NIL) {
+            c++;
+        }
+        if (c == freeHeads.length) {
+            if (segments.size() == maxSegments) {
+                return OUT_OF_MEMORY;
+            }
+            addSegment();
+            c = freeHeads.length - 1;
+        }
+        long address = freeHeads[c];
+        unlink(address, c);
+        // 큰 슬롯의 뒤쪽 절반들을 작은 등급에 돌려준다.
+        for (int split = c - 1; split >= sizeClass; split--) {
+            link(address + slotSize(split), split);
+        }
+        usedBytes += slotSize(sizeClass);
+        return address;
+    }
+
+    public void free(long address, int length) {
+        int sizeClass = sizeClassOf(length);
+        usedBytes -= slotSize(sizeClass);
+        long base = address & ~0xffff_ffffL;
+        int offset = (int) address;
+        int c = sizeClass;
+        while (c < freeHeads.length - 1) {
+            int buddy = offset ^ slotSize(c);
+            if (!isFree(base | buddy, c)) {
+                break;
+            }
+            unlink(base | buddy, c);
+            offset &= ~slotSize(c);
+            c++;
+        }
+        link(base | offset, c);
+    }
+
+    // 반환된 버퍼의 position~limit 이 슬롯 중 length 만큼의 영역이다.
+    public ByteBuffer buffer(long address, int length) {
+        ByteBuffer buffer = segments.get(segmentOf(address)).duplicate();
+        int offset = (int) address;
+        buffer.limit(offset + length);
+        buffer.position(offset);
+        return buffer;
+    }
+
+    public long usedBytes() {
+        return usedBytes;
+    }
+
+    public long reservedBytes() {
+        return (long) segments.size() * segmentSize;
+    }
+
+    private void addSegment() {
+        segments.add(ByteBuffer.allocateDirect(segmentSize));
+        freeBits.add(new BitSet(levelBase[freeHeads.length]));
+        link((long) (segments.size() - 1) << 32, freeHeads.length - 1);
+    }
+
+    // 빈 슬롯을 등급 리스트 맨 앞에 넣는다.
+    private void link(long address, int sizeClass) {
+        long next = freeHeads[sizeClass];
+        putLink(address, 0, NIL);
+        putLink(address, 8, next);
+        if (next != NIL) {
+            putLink(next, 0, address);
+        }
+        freeHeads[sizeClass] = address;
+        freeBits.get(segmentOf(address)).set(bitIndex(address, sizeClass));
+    }
+
+    private void unlink(long address, int sizeClass) {
+        long prev = getLink(address, 0);
+        long next = getLink(address, 8);
+        if (prev == NIL) {
+            freeHeads[sizeClass] = next;
+        } else {
+            putLink(prev, 8, next);
+        }
+        if (next != NIL) {
+            putLink(next, 0, prev);
+        }
+        freeBits.get(segmentOf(address)).clear(bitIndex(address, sizeClass));
+    }
+
+    private boolean isFree(long address, int sizeClass) {
+        return freeBits.get(segmentOf(address)).get(bitIndex(address, sizeClass));
+    }
+
+    private long getLink(long address, int field) {
+        return segments.get(segmentOf(address)).getLong((int) address + field);
+    }
+
+    private void putLink(long address, int field, long value) {
+        segments.get(segmentOf(address)).putLong((int) address + field, value);
+    }
+
+    private int bitIndex(long address, int sizeClass) {
+        return levelBase[sizeClass] + ((int) address >>> (sizeClass + MIN_SLOT_SHIFT));
+    }
+
+    private static int segmentOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private int sizeClassOf(int length) {
+        if (length < 0 || length > segmentSize) {
+            throw new IllegalArgumentException("length must be between 0 and " + segmentSize + ": " + length);
+        }
+        int shift = length <= (1 << MIN_SLOT_SHIFT) ? MIN_SLOT_SHIFT : 32 - Integer.numberOfLeadingZeros(length - 1);
+        return shift - MIN_SLOT_SHIFT;
+    }
+
+    private static int slotSize(int sizeClass) {
+        return 1 << (sizeClass + MIN_SLOT_SHIFT);
+    }
+}
@@ -0,0 +1,40 @@
+package com.learn.ej.chapter7.item44;
+
+/**
+ * item44 의 맵/캐시가 동작하는 동안 통계를 기록한다. 기록 메서드는 읽기/쓰기 경로에서 바로 불리므로 할당 없이 끝나야 한다.
+ */
+public interface StatsCounter {
+
+    void recordHit();
+
+    void recordMiss();
+
+    void recordEviction(EvictionCause cause);
+
+    void recordLoadSuccess(long loadNanos);
+
+    void recordLoadFailure(long loadNanos);
+
+    CacheStats snapshot();
+
+    // 아래 값은 스냅샷을 만들지 않고 카운터 하나만 읽는다. 지표를 내보낼 때 쓴다.
+    long hitCount();
+
+    long missCount();
+
+    long loadSuccessCount();
+
+    long loadFailureCount();
+
+    long totalLoadTimeNanos();
+
+    long evictionCount(EvictionCause cause);
+
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+
+    static StatsCounter concurrent() {
+        return new ConcurrentStatsCounter();
+    }
+}
@@ -3,22 +3,76 @@ package com.learn.ej.chapter7.item44;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
+/**
+ * 조회 통계는 get, getOrDefault, computeIfAbsent 에서 센다. computeIfAbsent 는 값이 이미 있으면 hit, 값을 만들면 miss 다.
+ * containsKey 처럼 값을 돌려주지 않는 메서드와 keySet/entrySet 뷰를 거친 조회는 세지 않는다.
+ */
 public class UpgradeLinkedHashMap<K, V> extends LinkedHashMap<K, V> {
 
     private final Predicate<Map<K, V>> eldestPredicate;
+    private final StatsCounter statsCounter;
 
     public UpgradeLinkedHashMap() {
         this(m -> false);
     }
 
     public UpgradeLinkedHashMap(Predicate<Map<K, V>> eldestPredicate) {
+        this(eldestPredicate, StatsCounter.disabled());
+    }
+
+    public UpgradeLinkedHashMap(Predicate<Map<K, V>> eldestPredicate, StatsCounter statsCounter) {
         this.eldestPredicate = eldestPredicate;
+        this.statsCounter = statsCounter;
+    }
+
+    // null 값을 담은 키는 miss 로 센다.
+    @Override
+    public V get(Object key) {
+        V value = super.get(key);
+        if (value != null) {
+            statsCounter.recordHit();
+        } else {
+            statsCounter.recordMiss();
+        }
+        return value;
+    }
+
+    // LinkedHashMap.getOrDefault 는 get 을 거치지 않는다.
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        V value = super.get(key);
+        if (value != null) {
+            statsCounter.recordHit();
+            return value;
+        }
+        statsCounter.recordMiss();
+        return containsKey(key) ? null : defaultValue;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = super.get(key);
+        if (value != null) {
+            statsCounter.recordHit();
+            return value;
+        }
+        statsCounter.recordMiss();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
     }
 
     @Override
     protected boolean removeEldestEntry(Entry<K, V> eldest) {
-        return eldestPredicate.test(this);
+        boolean remove = eldestPredicate.test(this);
+        if (remove) {
+            statsCounter.recordEviction(EvictionCause.PREDICATE);
+        }
+        return remove;
     }
 }
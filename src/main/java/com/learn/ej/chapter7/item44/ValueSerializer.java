@@ -0,0 +1,75 @@
+package com.learn.ej.chapter7.item44;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * OffHeapUpgradeLinkedHashMap 이 값을 슬랩에 쓰고 읽을 때 쓰는 직렬화기.
+ * write/read 에 넘어오는 버퍼는 position 부터 limit 까지가 해당 값의 영역이다.
+ */
+public interface ValueSerializer<V> {
+
+    int sizeOf(V value);
+
+    void write(V value, ByteBuffer dst);
+
+    V read(ByteBuffer src);
+
+    static ValueSerializer<byte[]> byteArray() {
+        return new ValueSerializer<>() {
+            @Override
+            public int sizeOf(byte[] value) {
+                return value.length;
+            }
+
+            @Override
+            public void write(byte[] value, ByteBuffer dst) {
+                dst.put(value);
+            }
+
+            @Override
+            public byte[] read(ByteBuffer src) {
+                byte[] value = new byte[src.remaining()];
+                src.get(value);
+                return value;
+            }
+        };
+    }
+
+    static ValueSerializer<String> utf8() {
+        return new ValueSerializer<>() {
+            @Override
+            public int sizeOf(String value) {
+                int size = 0;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c < 0x80) {
+                        size += 1;
+                    } else if (c < 0x800) {
+                        size += 2;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        size += 4;
+                        i++;
+                    } else if (Character.isSurrogate(c)) {
+                        // 짝이 맞지 않는 surrogate 는 getBytes 에서 '?' 한 바이트로 바뀐다.
+                        size += 1;
+                    } else {
+                        size += 3;
+                    }
+                }
+                return size;
+            }
+
+            @Override
+            public void write(String value, ByteBuffer dst) {
+                dst.put(value.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String read(ByteBuffer src) {
+                return StandardCharsets.UTF_8.decode(src).toString();
+            }
+        };
+    }
+}
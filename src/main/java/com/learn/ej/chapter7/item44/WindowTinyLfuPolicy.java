@@ -0,0 +1,190 @@
+package com.learn.ej.chapter7.item44;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * W-TinyLFU 교체 정책.
+ * <p>
+ * 새 키는 전체의 1% 인 window(LRU) 에 들어간다. window 에서 밀려난 키는 후보가 되고,
+ * 메인 영역(SLRU: probation 20% + protected 80%)의 희생자보다 빈도가 높을 때만 입장한다.
+ * 한 번 읽히고 마는 스캔성 키는 빈도가 낮아 메인 영역의 자주 쓰는 키를 밀어내지 못한다.
+ * <p>
+ * 빈도 sketch 는 가중치가 아니라 항목 수에 맞춰 키운다. 바이트 단위 가중치처럼 최대 가중치가 커도
+ * 처음부터 그만큼 할당하지 않는다. 예상 항목 수를 알면 생성자로 넘겨 warm-up 중 재할당을 줄일 수 있다.
+ */
+public class WindowTinyLfuPolicy<K> implements EvictionPolicy<K> {
+
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+    private static final long DEFAULT_EXPECTED_SIZE = 16;
+
+    private final Region<K> window = new Region<>();
+    private final Region<K> candidates = new Region<>();
+    private final Region<K> probation = new Region<>();
+    private final Region<K> protectedRegion = new Region<>();
+    private final FrequencySketch sketch;
+
+    private final long maximumWindowWeight;
+    private final long maximumMainWeight;
+    private final long maximumProtectedWeight;
+
+    public WindowTinyLfuPolicy(long maximumWeight) {
+        this(maximumWeight, DEFAULT_EXPECTED_SIZE);
+    }
+
+    public WindowTinyLfuPolicy(long maximumWeight, long expectedSize) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        this.maximumWindowWeight = Math.max(1, maximumWeight * WINDOW_PERCENT / 100);
+        this.maximumMainWeight = Math.max(0, maximumWeight - maximumWindowWeight);
+        this.maximumProtectedWeight = maximumMainWeight * PROTECTED_PERCENT / 100;
+        this.sketch = new FrequencySketch(Math.min(expectedSize, maximumWeight));
+    }
+
+    @Override
+    public void onInsert(K key, int weight) {
+        window.put(key, weight);
+        sketch.ensureCapacity(size());
+        sketch.increment(key);
+        while (window.weight > maximumWindowWeight && !window.isEmpty()) {
+            K eldest = window.eldestKey();
+            candidates.put(eldest, window.remove(eldest));
+        }
+        admitWhileRoom();
+    }
+
+    @Override
+    public void onAccess(K key) {
+        sketch.increment(key);
+        if (window.touch(key) || candidates.touch(key) || protectedRegion.touch(key)) {
+            return;
+        }
+        Integer weight = probation.remove(key);
+        if (weight != null) {
+            protectedRegion.put(key, weight);
+            while (protectedRegion.weight > maximumProtectedWeight && !protectedRegion.isEmpty()) {
+                K eldest = protectedRegion.eldestKey();
+                probation.put(eldest, protectedRegion.remove(eldest));
+            }
+        }
+    }
+
+    @Override
+    public void onUpdate(K key, int oldWeight, int newWeight) {
+        if (!(window.replace(key, newWeight) || candidates.replace(key, newWeight)
+            || probation.replace(key, newWeight) || protectedRegion.replace(key, newWeight))) {
+            onInsert(key, newWeight);
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        if (window.remove(key) == null && candidates.remove(key) == null
+            && probation.remove(key) == null) {
+            protectedRegion.remove(key);
+        }
+        admitWhileRoom();
+    }
+
+    @Override
+    public K victim() {
+        K mainVictim = !probation.isEmpty() ? probation.eldestKey()
+            : !protectedRegion.isEmpty() ? protectedRegion.eldestKey()
+            : null;
+        if (!candidates.isEmpty()) {
+            K candidate = candidates.eldestKey();
+            if (mainVictim == null) {
+                return candidate;
+            }
+            // 후보가 희생자보다 확실히 자주 쓰일 때만 입장시킨다.
+            return sketch.frequency(candidate) > sketch.frequency(mainVictim) ? mainVictim : candidate;
+        }
+        if (mainVictim != null) {
+            return mainVictim;
+        }
+        return window.isEmpty() ? null : window.eldestKey();
+    }
+
+    int sketchCapacity() {
+        return sketch.capacity();
+    }
+
+    private long size() {
+        return (long) window.size() + candidates.size() + probation.size() + protectedRegion.size();
+    }
+
+    // 메인 영역에 자리가 있으면 경쟁 없이 후보를 들인다.
+    private void admitWhileRoom() {
+        while (!candidates.isEmpty()) {
+            K candidate = candidates.eldestKey();
+            int weight = candidates.weightOf(candidate);
+            if (probation.weight + protectedRegion.weight + weight > maximumMainWeight) {
+                return;
+            }
+            candidates.remove(candidate);
+            probation.put(candidate, weight);
+        }
+    }
+
+    private static final class Region<K> {
+
+        // 삽입 순서를 쓰고 touch 에서 다시 넣는다. 접근 순서로 두면 weightOf 같은 조회도 순서를 바꿔버린다.
+        private final LinkedHashMap<K, Integer> entries = new LinkedHashMap<>();
+        private long weight;
+
+        void put(K key, int w) {
+            Integer old = entries.put(key, w);
+            weight += w - (old == null ? 0 : old);
+        }
+
+        boolean replace(K key, int w) {
+            Integer old = entries.get(key);
+            if (old == null) {
+                return false;
+            }
+            entries.put(key, w);
+            weight += w - old;
+            return true;
+        }
+
+        Integer remove(K key) {
+            Integer old = entries.remove(key);
+            if (old != null) {
+                weight -= old;
+            }
+            return old;
+        }
+
+        boolean touch(K key) {
+            Integer w = entries.remove(key);
+            if (w == null) {
+                return false;
+            }
+            entries.put(key, w);
+            return true;
+        }
+
+        int weightOf(K key) {
+            Integer w = entries.get(key);
+            return w == null ? 0 : w;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        K eldestKey() {
+            Iterator<K> it = entries.keySet().iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+    }
+}
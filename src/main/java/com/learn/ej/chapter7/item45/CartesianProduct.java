@@ -0,0 +1,74 @@
+package com.learn.ej.chapter7.item45;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 여러 축의 곱집합을 flatMap 없이 스트림으로 만든다.
+ * 전체를 0 부터 (축 크기의 곱 - 1) 까지 번호 매기고, 번호를 각 축의 좌표로 바꾼다. (마지막 축이 가장 빨리 바뀐다.)
+ * IndexedSpliterator 위에 만들어서 크기를 알고 병렬로 고르게 나뉜다. 순서는 중첩 for 문과 같다.
+ * 축의 원소는 만들 때 배열로 복사한다. 곱이 long 을 넘으면 ArithmeticException 이 발생한다.
+ */
+public final class CartesianProduct {
+
+    private CartesianProduct() {
+    }
+
+    public static <A, B, R> Stream<R> of(A[] first, B[] second,
+        BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return product(first.clone(), second.clone(), combiner);
+    }
+
+    public static <A, B, R> Stream<R> of(List<? extends A> first, List<? extends B> second,
+        BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return product(first.toArray(), second.toArray(), combiner);
+    }
+
+    // 두 enum 의 모든 상수 쌍. values() 순서를 따른다.
+    public static <A extends Enum<A>, B extends Enum<B>, R> Stream<R> of(Class<A> first, Class<B> second,
+        BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return product(first.getEnumConstants(), second.getEnumConstants(), combiner);
+    }
+
+    // 축이 몇 개든 쓸 수 있는 일반형. 원소는 축 순서대로 좌표를 담은 수정할 수 없는 리스트다.
+    public static <T> Stream<List<T>> of(List<? extends List<? extends T>> axes) {
+        Object[][] values = new Object[axes.size()][];
+        long size = 1;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = axes.get(i).toArray();
+            size = Math.multiplyExact(size, values[i].length);
+        }
+        Spliterator<List<T>> spliterator = new IndexedSpliterator<>(size, index -> tuple(values, index),
+            Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A, B, R> Stream<R> product(Object[] first, Object[] second,
+        BiFunction<? super A, ? super B, ? extends R> combiner) {
+        Objects.requireNonNull(combiner);
+        int width = second.length;
+        long size = Math.multiplyExact((long) first.length, width);
+        Spliterator<R> spliterator = new IndexedSpliterator<>(size,
+            index -> combiner.apply((A) first[(int) (index / width)], (B) second[(int) (index % width)]));
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> tuple(Object[][] axes, long index) {
+        Object[] coordinates = new Object[axes.length];
+        for (int i = axes.length - 1; i >= 0; i--) {
+            int length = axes[i].length;
+            coordinates[i] = axes[i][(int) (index % length)];
+            index /= length;
+        }
+        // 축의 원소가 null 일 수 있어서 List.of 대신 쓴다.
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(coordinates));
+    }
+}
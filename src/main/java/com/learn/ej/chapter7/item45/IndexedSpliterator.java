@@ -0,0 +1,86 @@
+package com.learn.ej.chapter7.item45;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * 0 부터 size - 1 까지의 번호를 mapper 로 원소로 바꾸는 Spliterator.
+ * 원소를 미리 만들지 않고, 번호 구간을 정확히 반씩 나누므로 SIZED | SUBSIZED 다.
+ * 그래서 병렬 스트림이 고르게 나뉘고 toArray 는 결과 배열 크기를 미리 안다.
+ * mapper 는 같은 번호에 같은 원소를 돌려줘야 하고, 여러 스레드에서 동시에 불려도 안전해야 한다.
+ */
+public final class IndexedSpliterator<T> implements Spliterator<T> {
+
+    private static final int BASE_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+
+    private final LongFunction<? extends T> mapper;
+    private final int characteristics;
+    private long index;
+    private final long fence;
+
+    public IndexedSpliterator(long size, LongFunction<? extends T> mapper) {
+        this(size, mapper, 0);
+    }
+
+    // additionalCharacteristics 에는 NONNULL, DISTINCT 처럼 mapper 가 보장하는 성질을 넘긴다.
+    public IndexedSpliterator(long size, LongFunction<? extends T> mapper, int additionalCharacteristics) {
+        this(0, checkSize(size), Objects.requireNonNull(mapper), BASE_CHARACTERISTICS | additionalCharacteristics);
+    }
+
+    private IndexedSpliterator(long index, long fence, LongFunction<? extends T> mapper, int characteristics) {
+        this.index = index;
+        this.fence = fence;
+        this.mapper = mapper;
+        this.characteristics = characteristics;
+    }
+
+    private static long checkSize(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative: " + size);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(mapper.apply(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long i = index;
+        long end = fence;
+        index = end;
+        for (; i < end; i++) {
+            action.accept(mapper.apply(i));
+        }
+    }
+
+    // 앞 절반을 떼어 준다.
+    @Override
+    public Spliterator<T> trySplit() {
+        long lo = index;
+        long mid = (lo + fence) >>> 1;
+        if (mid <= lo) {
+            return null;
+        }
+        index = mid;
+        return new IndexedSpliterator<>(lo, mid, mapper, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
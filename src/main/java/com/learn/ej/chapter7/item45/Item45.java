@@ -9,7 +9,7 @@ import lombok.RequiredArgsConstructor;
 
 public class Item45 {
 
-    private static List<Card> newDeckUsingForLoop() {
+    static List<Card> newDeckUsingForLoop() {
         List<Card> result = new ArrayList<>();
         for (Suit suit : Suit.values()) {
             for (Rank rank : Rank.values()) {
@@ -20,7 +20,7 @@ public class Item45 {
     }
 
 
-    private static List<Card> newDeckUsingStream() {
+    static List<Card> newDeckUsingStream() {
         return Stream.of(Suit.values())
             .flatMap(suit ->
                 Stream.of(Rank.values())
@@ -29,19 +29,26 @@ public class Item45 {
     }
 
 
+    // flatMap 과 달리 크기를 아는 스트림이라 결과 리스트를 한 번에 만들고, 병렬로도 고르게 나뉜다.
+    static List<Card> newDeckUsingProduct() {
+        return CartesianProduct.of(Suit.class, Rank.class, Card::new)
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+
     @RequiredArgsConstructor
-    private static class Card {
+    static class Card {
 
         private final Suit suit;
         private final Rank rank;
     }
 
-    private enum Suit {
-
+    enum Suit {
+        CLUB, DIAMOND, HEART, SPADE
     }
 
-    private enum Rank {
-
+    enum Rank {
+        ACE, DEUCE, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, TEN, JACK, QUEEN, KING
     }
 
 }
@@ -1,5 +1,9 @@
 package com.learn.ej.chapter7.item47;
 
+import java.util.Collection;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public class Item47 {
     public static void main(String[] args) {
         /* 스트림을 반환하는 메서드
@@ -15,5 +19,23 @@ public class Item47 {
         // ClassCastException 발생한다 (책에서는 작동한다고 나와 있음)
 //        for(ProcessHandle ph : (Iterable<ProcessHandle>) ProcessHandle.allProcesses().iterator()) {
 //        }
+
+        // 어댑터를 쓰면 for-each 로 반복할 수 있다.
+        for (ProcessHandle ph : iterableOf(ProcessHandle.allProcesses().limit(3))) {
+            System.out.println(ph.pid());
+        }
+    }
+
+    // 스트림은 한 번만 쓸 수 있으므로 돌려준 Iterable 도 한 번만 반복할 수 있다. (두 번째는 IllegalStateException)
+    public static <E> Iterable<E> iterableOf(Stream<E> stream) {
+        return stream::iterator;
+    }
+
+    // Collection 이면 크기를 아는 stream() 을 그대로 쓰고, 아니면 Iterable 의 spliterator 로 만든다.
+    public static <E> Stream<E> streamOf(Iterable<E> iterable) {
+        if (iterable instanceof Collection) {
+            return ((Collection<E>) iterable).stream();
+        }
+        return StreamSupport.stream(iterable.spliterator(), false);
     }
 }
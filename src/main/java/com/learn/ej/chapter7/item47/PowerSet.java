@@ -0,0 +1,167 @@
+package com.learn.ej.chapter7.item47;
+
+import com.learn.ej.chapter7.item45.IndexedSpliterator;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 멱집합을 미리 만들지 않고 비트마스크로 나타낸다. index 의 i 번째 비트가 1 이면 원본의 i 번째 원소가 들어 있다.
+ * 부분집합도 원소를 복사하지 않는 읽기 전용 뷰라서 get 은 O(1) 이다.
+ * 원본 집합의 순서는 만들 때의 반복 순서로 고정되고, 원본을 나중에 바꿔도 영향이 없다.
+ */
+public final class PowerSet {
+
+    // List.size() 가 int 라서 2^30 이 한계다.
+    static final int MAX_LIST_ELEMENTS = 30;
+    // 번호를 long 으로 세는 stream 의 한계
+    static final int MAX_STREAM_ELEMENTS = 62;
+
+    private PowerSet() {
+    }
+
+    public static <E> List<Set<E>> of(Set<E> s) {
+        return new PowerSetList<>(new Source<>(s, MAX_LIST_ELEMENTS));
+    }
+
+    // 원소가 31 개 이상이라 List 로 나타낼 수 없을 때도 쓸 수 있다. 병렬로 나누면 번호 구간이 반씩 나뉜다.
+    public static <E> Stream<Set<E>> stream(Set<E> s) {
+        Source<E> source = new Source<>(s, MAX_STREAM_ELEMENTS);
+        return StreamSupport.stream(source.spliterator(1L << source.elements.length), false);
+    }
+
+    private static final class Source<E> {
+
+        private final Object[] elements;
+        private final Map<Object, Integer> positions;
+
+        private Source(Set<E> s, int maxElements) {
+            if (s.size() > maxElements) {
+                throw new IllegalArgumentException(
+                    "set must have at most " + maxElements + " elements: " + s.size());
+            }
+            this.elements = s.toArray();
+            this.positions = new HashMap<>();
+            for (int i = 0; i < elements.length; i++) {
+                positions.put(elements[i], i);
+            }
+        }
+
+        // o 가 원본의 부분집합이면 그 비트마스크, 아니면 -1
+        private long maskOf(Object o) {
+            if (!(o instanceof Set)) {
+                return -1;
+            }
+            long mask = 0;
+            for (Object e : (Set<?>) o) {
+                Integer position = positions.get(e);
+                if (position == null) {
+                    return -1;
+                }
+                mask |= 1L << position;
+            }
+            return mask;
+        }
+
+        private Spliterator<Set<E>> spliterator(long size) {
+            return new IndexedSpliterator<>(size, mask -> new Subset<>(this, mask),
+                Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+    }
+
+    private static final class PowerSetList<E> extends AbstractList<Set<E>> implements RandomAccess {
+
+        private final Source<E> source;
+
+        private PowerSetList(Source<E> source) {
+            this.source = source;
+        }
+
+        @Override
+        public Set<E> get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+            }
+            return new Subset<>(source, index);
+        }
+
+        @Override
+        public int size() {
+            return 1 << source.elements.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return source.maskOf(o) >= 0;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return (int) source.maskOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public Spliterator<Set<E>> spliterator() {
+            return source.spliterator(size());
+        }
+    }
+
+    private static final class Subset<E> extends AbstractSet<E> {
+
+        private final Source<E> source;
+        private final long mask;
+
+        private Subset(Source<E> source, long mask) {
+            this.source = source;
+            this.mask = mask;
+        }
+
+        @Override
+        public int size() {
+            return Long.bitCount(mask);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer position = source.positions.get(o);
+            return position != null && (mask & (1L << position)) != 0;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<>() {
+                private long remaining = mask;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining != 0;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public E next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    int position = Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return (E) source.elements[position];
+                }
+            };
+        }
+    }
+}
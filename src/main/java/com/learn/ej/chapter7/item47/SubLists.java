@@ -0,0 +1,60 @@
+package com.learn.ej.chapter7.item47;
+
+import com.learn.ej.chapter7.item45.IndexedSpliterator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 리스트의 연속된 부분리스트 전부를 스트림으로 만든다. 빈 리스트가 먼저 나오고, 그 다음은 아래 for 문의 순서다.
+ * <pre>
+ * for (int start = 0; start &lt; n; start++)
+ *     for (int end = start + 1; end &lt;= n; end++)
+ * </pre>
+ * flatMap 으로 중첩하지 않고 번호 하나를 (start, end) 로 바꾸므로 크기를 알고 병렬로 고르게 나뉜다.
+ * 원소는 원본의 subList 뷰라서 스트림을 쓰는 동안 원본을 바꾸면 안 된다.
+ */
+public final class SubLists {
+
+    private SubLists() {
+    }
+
+    public static <E> Stream<List<E>> of(List<E> list) {
+        int n = list.size();
+        Spliterator<List<E>> spliterator = new IndexedSpliterator<>(count(n),
+            index -> index == 0 ? Collections.emptyList() : subList(list, n, index - 1), Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    // 빈 리스트 하나 + n(n + 1) / 2
+    static long count(int n) {
+        return (long) n * (n + 1) / 2 + 1;
+    }
+
+    private static <E> List<E> subList(List<E> list, int n, long k) {
+        int start = start(n, k);
+        int end = (int) (start + 1 + (k - before(n, start)));
+        return list.subList(start, end);
+    }
+
+    // start 보다 앞에서 시작하는 부분리스트 수
+    private static long before(int n, long start) {
+        return start * n - start * (start - 1) / 2;
+    }
+
+    // before(n, start) <= k 인 가장 큰 start. 2차 방정식의 근으로 어림하고 오차를 고친다.
+    private static int start(int n, long k) {
+        double b = 2.0 * n + 1;
+        long start = (long) ((b - Math.sqrt(Math.max(0, b * b - 8.0 * k))) / 2);
+        start = Math.max(0, Math.min(n - 1, start));
+        while (start > 0 && before(n, start) > k) {
+            start--;
+        }
+        while (start + 1 < n && before(n, start + 1) <= k) {
+            start++;
+        }
+        return (int) start;
+    }
+}
@@ -0,0 +1,263 @@
+package com.learn.ej.chapter9.item60;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * long 하나(최소 단위의 개수)와 소수 자릿수로 나타내는 불변 십진수. 1.25 는 (125, 2) 다.
+ * double 처럼 오차가 생기지 않고, BigDecimal 과 달리 연산마다 객체 안에 배열을 만들지 않는다.
+ * <ul>
+ * <li>덧셈/뺄셈은 두 자릿수 중 큰 쪽에 맞추고 정확히 계산한다.</li>
+ * <li>곱셈/나눗셈은 this 의 자릿수로 반올림한다.</li>
+ * <li>long 범위를 넘으면 ArithmeticException 이 발생한다.</li>
+ * <li>BigDecimal 과 달리 equals 도 값으로 비교한다. (1.0 과 1.00 은 같다.)
+ * 그래서 equals, hashCode, compareTo 가 일관되고 HashSet 과 TreeSet 이 같게 동작한다.</li>
+ * </ul>
+ */
+public final class ScaledDecimal implements Comparable<ScaledDecimal> {
+
+    public static final int MAX_SCALE = 18;
+    public static final ScaledDecimal ZERO = new ScaledDecimal(0, 0);
+
+    static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long unscaled;
+    private final int scale;
+
+    private ScaledDecimal(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+    }
+
+    // unscaled * 10^-scale
+    public static ScaledDecimal of(long unscaled, int scale) {
+        return new ScaledDecimal(unscaled, checkScale(scale));
+    }
+
+    // 자릿수 18 이하, long 범위 안에서 정확히 나타낼 수 없으면 ArithmeticException
+    public static ScaledDecimal valueOf(BigDecimal value) {
+        BigDecimal normalized = value.scale() < 0 ? value.setScale(0) : value;
+        // 뒤쪽 0 때문에 자릿수나 unscaled 값이 넘치는 경우에만 0 을 지운다.
+        if (normalized.scale() > MAX_SCALE || normalized.unscaledValue().bitLength() > 63) {
+            normalized = normalized.stripTrailingZeros();
+            if (normalized.scale() > MAX_SCALE) {
+                throw new ArithmeticException("scale too large: " + value);
+            }
+            // 정수부의 0 까지 지우면 scale 이 음수가 되므로 0 으로 되돌린다. (100.000... -> 1E+2 -> 100)
+            normalized = normalized.setScale(Math.max(0, normalized.scale()));
+        }
+        return new ScaledDecimal(normalized.unscaledValue().longValueExact(), normalized.scale());
+    }
+
+    // 연산 결과는 자릿수를 유지해야 하므로 0 을 지우지 않는다. value 의 scale 은 이미 0~18 이다.
+    private static ScaledDecimal exact(BigDecimal value) {
+        return new ScaledDecimal(value.unscaledValue().longValueExact(), value.scale());
+    }
+
+    public static ScaledDecimal parse(String value) {
+        return valueOf(new BigDecimal(value));
+    }
+
+    static int checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        return scale;
+    }
+
+    public long unscaledValue() {
+        return unscaled;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    public int signum() {
+        return Long.signum(unscaled);
+    }
+
+    public ScaledDecimal add(ScaledDecimal other) {
+        if (scale == other.scale) {
+            return new ScaledDecimal(Math.addExact(unscaled, other.unscaled), scale);
+        }
+        int common = Math.max(scale, other.scale);
+        try {
+            long left = rescale(unscaled, scale, common);
+            long right = rescale(other.unscaled, other.scale, common);
+            return new ScaledDecimal(Math.addExact(left, right), common);
+        } catch (ArithmeticException e) {
+            // 자릿수를 맞추다 넘쳐도 결과는 들어갈 수 있다. (큰 두 값이 서로 상쇄되는 경우)
+            return exact(toBigDecimal().add(other.toBigDecimal()).setScale(common));
+        }
+    }
+
+    public ScaledDecimal subtract(ScaledDecimal other) {
+        if (scale == other.scale) {
+            return new ScaledDecimal(Math.subtractExact(unscaled, other.unscaled), scale);
+        }
+        int common = Math.max(scale, other.scale);
+        try {
+            long left = rescale(unscaled, scale, common);
+            long right = rescale(other.unscaled, other.scale, common);
+            return new ScaledDecimal(Math.subtractExact(left, right), common);
+        } catch (ArithmeticException e) {
+            // 자릿수를 맞추다 넘쳐도 결과는 들어갈 수 있다. (큰 두 값이 서로 상쇄되는 경우)
+            return exact(toBigDecimal().subtract(other.toBigDecimal()).setScale(common));
+        }
+    }
+
+    public ScaledDecimal multiply(long multiplier) {
+        return new ScaledDecimal(Math.multiplyExact(unscaled, multiplier), scale);
+    }
+
+    // 결과는 this 의 자릿수로 반올림한다.
+    public ScaledDecimal multiply(ScaledDecimal other, RoundingMode roundingMode) {
+        long product;
+        try {
+            product = Math.multiplyExact(unscaled, other.unscaled);
+        } catch (ArithmeticException e) {
+            // 곱은 long 을 넘어도 반올림한 결과는 들어갈 수 있어서 BigDecimal 로 다시 계산한다.
+            return exact(toBigDecimal().multiply(other.toBigDecimal()).setScale(scale, roundingMode));
+        }
+        return new ScaledDecimal(divide(product, POWERS_OF_TEN[other.scale], roundingMode), scale);
+    }
+
+    // 결과는 this 의 자릿수로 반올림한다. other 가 0 이면 ArithmeticException
+    public ScaledDecimal divide(ScaledDecimal other, RoundingMode roundingMode) {
+        if (other.unscaled == 0) {
+            throw new ArithmeticException("division by zero");
+        }
+        long numerator;
+        try {
+            numerator = Math.multiplyExact(unscaled, POWERS_OF_TEN[other.scale]);
+        } catch (ArithmeticException e) {
+            return exact(toBigDecimal().divide(other.toBigDecimal(), scale, roundingMode));
+        }
+        return new ScaledDecimal(divide(numerator, other.unscaled, roundingMode), scale);
+    }
+
+    public ScaledDecimal setScale(int newScale, RoundingMode roundingMode) {
+        checkScale(newScale);
+        if (newScale >= scale) {
+            return new ScaledDecimal(rescale(unscaled, scale, newScale), newScale);
+        }
+        return new ScaledDecimal(divide(unscaled, POWERS_OF_TEN[scale - newScale], roundingMode), newScale);
+    }
+
+    public ScaledDecimal negate() {
+        return new ScaledDecimal(Math.negateExact(unscaled), scale);
+    }
+
+    public ScaledDecimal abs() {
+        return unscaled < 0 ? negate() : this;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Override
+    public int compareTo(ScaledDecimal other) {
+        if (scale == other.scale) {
+            return Long.compare(unscaled, other.unscaled);
+        }
+        if (scale < other.scale) {
+            return compareRescaled(unscaled, other.scale - scale, other.unscaled);
+        }
+        return -compareRescaled(other.unscaled, scale - other.scale, unscaled);
+    }
+
+    // (value * 10^shift) 와 other 의 비교. 곱이 long 을 넘으면 크기는 other 보다 반드시 크다.
+    private static int compareRescaled(long value, int shift, long other) {
+        long high = Math.multiplyHigh(value, POWERS_OF_TEN[shift]);
+        long low = value * POWERS_OF_TEN[shift];
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            return Long.compare(low, other);
+        }
+        return Long.signum(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScaledDecimal)) {
+            return false;
+        }
+        return compareTo((ScaledDecimal) o) == 0;
+    }
+
+    // 끝자리 0 을 지운 (unscaled, scale) 로 계산해서 1.0 과 1.00 이 같은 값을 갖게 한다.
+    @Override
+    public int hashCode() {
+        long u = unscaled;
+        int s = scale;
+        while (s > 0 && u % 10 == 0) {
+            u /= 10;
+            s--;
+        }
+        return 31 * Long.hashCode(u) + s;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    static long rescale(long unscaled, int fromScale, int toScale) {
+        return Math.multiplyExact(unscaled, POWERS_OF_TEN[toScale - fromScale]);
+    }
+
+    // BigDecimal 과 같은 규칙으로 반올림하는 정수 나눗셈
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (dividend == Long.MIN_VALUE && divisor == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // 몫의 부호. 나머지가 있으면 참값은 quotient 와 quotient + sign 사이에 있다.
+        int sign = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        boolean increment;
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("rounding necessary");
+            case DOWN:
+                increment = false;
+                break;
+            case UP:
+                increment = true;
+                break;
+            case FLOOR:
+                increment = sign < 0;
+                break;
+            case CEILING:
+                increment = sign > 0;
+                break;
+            default:
+                // |remainder| * 2 와 |divisor| 비교. |divisor| 는 2^63 일 수 있어서 부호 없는 값으로 비교한다.
+                int half = Long.compareUnsigned(Math.abs(remainder) << 1, Math.abs(divisor));
+                if (half != 0) {
+                    increment = half > 0;
+                } else if (roundingMode == RoundingMode.HALF_UP) {
+                    increment = true;
+                } else if (roundingMode == RoundingMode.HALF_DOWN) {
+                    increment = false;
+                } else {
+                    increment = (quotient & 1) != 0;
+                }
+        }
+        return increment ? quotient + sign : quotient;
+    }
+}
@@ -0,0 +1,50 @@
+package com.learn.ej.chapter9.item60;
+
+import java.math.RoundingMode;
+
+/**
+ * 루프에서 ScaledDecimal 을 더할 때 쓰는 가변 합계. 더할 때마다 객체를 만들지 않는다.
+ * 자릿수는 만들 때 정하고, 그보다 자릿수가 큰 값은 잘리는 자리가 0 일 때만 더할 수 있다.
+ * 스레드 안전하지 않다.
+ */
+public final class ScaledDecimalAccumulator {
+
+    private final int scale;
+    private long unscaled;
+
+    public ScaledDecimalAccumulator(int scale) {
+        this.scale = ScaledDecimal.checkScale(scale);
+    }
+
+    public void add(ScaledDecimal value) {
+        add(value.unscaledValue(), value.scale());
+    }
+
+    // scale 이 0~18 밖이면 IllegalArgumentException
+    public void add(long unscaled, int scale) {
+        this.unscaled = Math.addExact(this.unscaled, toScale(unscaled, ScaledDecimal.checkScale(scale)));
+    }
+
+    public void subtract(ScaledDecimal value) {
+        this.unscaled = Math.subtractExact(this.unscaled, toScale(value.unscaledValue(), value.scale()));
+    }
+
+    public ScaledDecimal get() {
+        return ScaledDecimal.of(unscaled, scale);
+    }
+
+    public void reset() {
+        unscaled = 0;
+    }
+
+    private long toScale(long value, int valueScale) {
+        if (valueScale == scale) {
+            return value;
+        }
+        if (valueScale < scale) {
+            return ScaledDecimal.rescale(value, valueScale, scale);
+        }
+        long divisor = ScaledDecimal.POWERS_OF_TEN[valueScale - scale];
+        return ScaledDecimal.divide(value, divisor, RoundingMode.UNNECESSARY);
+    }
+}
@@ -0,0 +1,80 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CollectionMetricsBinderTest {
+
+    @Test
+    @DisplayName("연산별 호출 수, 표본 수, 최근 지연 시간 백분위수를 collection.* 미터로 노출한다.")
+    void bindTest() {
+        InstrumentedSet<Integer> set = new InstrumentedSet<>(new HashSet<>(), "numbers");
+        CollectionMetricsBinder binder = new CollectionMetricsBinder();
+        binder.register(set.metrics());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        binder.bindTo(registry);
+
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+            set.contains(i);
+        }
+        set.contains(-1);
+
+        FunctionTimer contains = registry.get("collection.operations")
+            .tags("collection", "numbers", "operation", "contains").functionTimer();
+        assertThat(contains.count()).isEqualTo(101);
+        assertThat(contains.totalTime(TimeUnit.NANOSECONDS)).isNotNegative();
+        assertThat(registry.get("collection.operations.sampled")
+            .tags("collection", "numbers", "operation", "add").functionCounter().count()).isEqualTo(100);
+        assertThat(registry.get("collection.operations")
+            .tags("collection", "numbers", "operation", "clear").functionTimer().count()).isZero();
+
+        double p50 = latency(registry, "numbers", "contains", "50.0");
+        double p99 = latency(registry, "numbers", "contains", "99.0");
+        double p999 = latency(registry, "numbers", "contains", "99.9");
+        double max = latency(registry, "numbers", "contains", "max");
+        assertThat(p50).isNotNegative().isLessThanOrEqualTo(p99);
+        assertThat(p99).isLessThanOrEqualTo(p999);
+        assertThat(p999).isLessThanOrEqualTo(max);
+        assertThat(latency(registry, "numbers", "clear", "max")).isZero();
+    }
+
+    @Test
+    @DisplayName("bindTo 뒤에 등록한 컬렉션은 바로 바인딩되고, unregister 하면 미터도 함께 지운다.")
+    void registerAndUnregisterTest() {
+        CollectionMetricsBinder binder = new CollectionMetricsBinder();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        binder.bindTo(registry);
+        InstrumentedMap<String, Integer> map = new InstrumentedMap<>(new HashMap<>(), "scores");
+
+        binder.register(map.metrics());
+        map.put("a", 1);
+        assertThat(registry.get("collection.operations")
+            .tags("collection", "scores", "operation", "put").functionTimer().count()).isEqualTo(1);
+        assertThatThrownBy(() -> binder.register(map.metrics())).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(binder.unregister("scores")).isTrue();
+        assertThat(binder.unregister("scores")).isFalse();
+        assertThat(registry.find("collection.operations").tag("collection", "scores").meters()).isEmpty();
+        assertThat(registry.find("collection.operation.latency").tag("collection", "scores").meters()).isEmpty();
+
+        binder.register(map.metrics());
+        assertThat(registry.get("collection.operations.sampled")
+            .tags("collection", "scores", "operation", "put").functionCounter().count()).isEqualTo(1);
+    }
+
+    private static double latency(SimpleMeterRegistry registry, String collection, String operation,
+        String percentile) {
+        return registry.get("collection.operation.latency")
+            .tags("collection", collection, "operation", operation, "percentile", percentile)
+            .gauge().value();
+    }
+}
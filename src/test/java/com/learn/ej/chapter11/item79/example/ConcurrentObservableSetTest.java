@@ -0,0 +1,74 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentObservableSetTest {
+
+    @Test
+    @DisplayName("여러 스레드가 같은 원소를 동시에 추가해도 성공한 추가는 정확히 한 번만 알린다.")
+    void notifyExactlyOnceTest() throws InterruptedException {
+        int threads = 8;
+        int elements = 50_000;
+        ConcurrentObservableSet<Integer> set = new ConcurrentObservableSet<>();
+        LongAdder notified = new LongAdder();
+        set.addObserver((s, e) -> notified.increment());
+        List<Integer> bulk = IntStream.range(0, elements).boxed().collect(Collectors.toList());
+
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            boolean useBulk = t % 2 == 0;
+            exec.submit(() -> {
+                if (useBulk) {
+                    set.addAll(bulk);
+                } else {
+                    for (int i = 0; i < elements; i++) {
+                        set.add(i);
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(1, TimeUnit.MINUTES)).isTrue();
+        exec.shutdown();
+        assertThat(set).hasSize(elements);
+        assertThat(notified.sum()).isEqualTo(elements);
+    }
+
+    @Test
+    @DisplayName("병렬 bulk 제거도 제거된 원소를 빠짐없이 한 번씩 알린다.")
+    void parallelBulkRemoveTest() {
+        ConcurrentObservableSet<Integer> set = new ConcurrentObservableSet<>();
+        List<Integer> removed = new ArrayList<>();
+        set.addBatchObserver(new SetBatchObserver<>() {
+            @Override
+            public void added(ObservableSet<Integer> s, Collection<Integer> elements) {
+            }
+
+            @Override
+            public void removed(ObservableSet<Integer> s, Collection<Integer> elements) {
+                removed.addAll(elements);
+            }
+        });
+        set.addAll(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()));
+
+        set.retainAll(IntStream.range(0, 10).boxed().collect(Collectors.toSet()));
+
+        assertThat(set).hasSize(10);
+        assertThat(removed).hasSize(99_990).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,82 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ForwardingCollectionTest {
+
+    @Test
+    @DisplayName("spliterator 를 원본에서 받아서 크기와 DISTINCT 같은 성질이 감싼 뒤에도 남는다.")
+    void spliteratorForwardedTest() {
+        Set<Integer> backing = IntStream.range(0, 1000).boxed().collect(Collectors.toCollection(HashSet::new));
+        ForwardingSet<Integer> set = new ForwardingSet<>(backing);
+
+        Spliterator<Integer> spliterator = set.spliterator();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1000);
+        assertThat(spliterator.characteristics()).isEqualTo(backing.spliterator().characteristics());
+        assertThat(set.parallelStream().mapToInt(i -> i).sum()).isEqualTo(999 * 1000 / 2);
+
+        assertThat(set).isEqualTo(backing);
+        assertThat(backing).isEqualTo(set);
+        assertThat(set).hasSameHashCodeAs(backing);
+    }
+
+    @Test
+    @DisplayName("removeIf, forEach, replaceAll, sort 같은 default 메서드는 원본의 구현이 실행된다.")
+    void defaultMethodsForwardedTest() {
+        List<String> calls = new ArrayList<>();
+        Set<Integer> backing = new HashSet<>(List.of(1, 2, 3, 4)) {
+            @Override
+            public boolean removeIf(Predicate<? super Integer> filter) {
+                calls.add("removeIf");
+                return super.removeIf(filter);
+            }
+        };
+        new ForwardingSet<>(backing).removeIf(i -> i > 2);
+        assertThat(calls).containsExactly("removeIf");
+        assertThat(backing).containsExactlyInAnyOrder(1, 2);
+
+        ForwardingList<Integer> list = new ForwardingList<>(new ArrayList<>(List.of(3, 1, 2)));
+        list.sort(null);
+        list.replaceAll(i -> i * 10);
+        assertThat(list).containsExactly(10, 20, 30);
+        assertThat(list).isEqualTo(List.of(10, 20, 30));
+    }
+
+    @Test
+    @DisplayName("Map 의 compute/merge 도 원본에 넘겨서 ConcurrentHashMap 의 원자성이 유지된다.")
+    void mapDefaultMethodsForwardedTest() {
+        List<String> calls = new ArrayList<>();
+        Map<String, Integer> backing = new HashMap<>() {
+            @Override
+            public Integer merge(String key, Integer value,
+                BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+                calls.add("merge");
+                return super.merge(key, value, remappingFunction);
+            }
+        };
+        ForwardingMap<String, Integer> map = new ForwardingMap<>(backing);
+        map.merge("a", 1, Integer::sum);
+        map.merge("a", 1, Integer::sum);
+        assertThat(calls).containsExactly("merge", "merge");
+        assertThat(map).containsEntry("a", 2).isEqualTo(Map.of("a", 2));
+
+        ForwardingMap<Integer, Integer> counts = new ForwardingMap<>(new ConcurrentHashMap<>());
+        IntStream.range(0, 100_000).parallel().forEach(i -> counts.merge(i % 10, 1, Integer::sum));
+        assertThat(counts.values()).containsOnly(10_000);
+    }
+}
@@ -0,0 +1,55 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.HashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedMapTest {
+
+    @Test
+    @DisplayName("같은 이름으로 묶인 오버로드와 default 메서드도 빠짐없이 센다.")
+    void groupedCountTest() {
+        InstrumentedMap<String, Integer> map = new InstrumentedMap<>(new HashMap<>(), "scores");
+
+        map.put("a", 1);
+        map.putIfAbsent("b", 2);
+        map.get("a");
+        map.getOrDefault("z", 0);
+        map.containsKey("a");
+        map.computeIfAbsent("c", k -> 3);
+        map.computeIfPresent("c", (k, v) -> v + 1);
+        map.compute("d", (k, v) -> 5);
+        map.merge("a", 10, Integer::sum);
+        map.replace("b", 20);
+        map.replace("b", 20, 21);
+        map.remove("d");
+        map.remove("c", 4);
+
+        CollectionMetrics metrics = map.metrics();
+        assertThat(metrics.timer("put").estimatedCount()).isEqualTo(2);
+        assertThat(metrics.timer("get").estimatedCount()).isEqualTo(2);
+        assertThat(metrics.timer("containsKey").estimatedCount()).isEqualTo(1);
+        assertThat(metrics.timer("compute").estimatedCount()).isEqualTo(3);
+        assertThat(metrics.timer("merge").estimatedCount()).isEqualTo(1);
+        assertThat(metrics.timer("replace").estimatedCount()).isEqualTo(2);
+        assertThat(metrics.timer("remove").estimatedCount()).isEqualTo(2);
+        assertThat(map).containsOnly(entry("a", 11), entry("b", 21));
+    }
+
+    @Test
+    @DisplayName("표본을 뽑으면 일부 호출만 재고, 호출 수는 표본 수에 간격을 곱해 추정한다.")
+    void sampledCountTest() {
+        InstrumentedMap<Integer, Integer> map = new InstrumentedMap<>(new HashMap<>(), "counts", 64);
+        for (int i = 0; i < 640_000; i++) {
+            map.merge(i % 10, 1, Integer::sum);
+        }
+
+        OperationTimer merge = map.metrics().timer("merge");
+        assertThat(merge.snapshot().count()).isBetween(9_000L, 11_000L);
+        assertThat(merge.estimatedCount()).isEqualTo(merge.snapshot().count() * 64);
+        assertThat(map.get(0)).isEqualTo(64_000);
+    }
+}
@@ -0,0 +1,66 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedSetTest {
+
+    @Test
+    @DisplayName("표본 간격이 1 이면 연산마다 호출 수를 정확히 센다.")
+    void exactCountTest() {
+        InstrumentedSet<Integer> set = new InstrumentedSet<>(new HashSet<>(), "numbers");
+
+        set.addAll(List.of(1, 2, 3));
+        set.add(4);
+        set.add(4);
+        for (int i = 0; i < 10; i++) {
+            set.contains(i);
+        }
+        set.removeIf(i -> i > 2);
+
+        CollectionMetrics metrics = set.metrics();
+        assertThat(metrics.name()).isEqualTo("numbers");
+        assertThat(metrics.timer("contains").estimatedCount()).isEqualTo(10);
+        assertThat(metrics.timer("add").estimatedCount()).isEqualTo(2);
+        assertThat(metrics.timer("addAll").estimatedCount()).isEqualTo(1);
+        assertThat(metrics.timer("removeIf").estimatedCount()).isEqualTo(1);
+        assertThat(metrics.timer("clear").estimatedCount()).isZero();
+        assertThat(set).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    @DisplayName("표본을 뽑으면 일부 호출만 재고, 호출 수는 표본 수에 간격을 곱해 추정한다.")
+    void sampledCountTest() {
+        InstrumentedSet<Integer> set = new InstrumentedSet<>(new HashSet<>(), "numbers", 64);
+        for (int i = 0; i < 1_000; i++) {
+            set.add(i);
+        }
+        int hits = 0;
+        for (int i = 0; i < 640_000; i++) {
+            if (set.contains(i % 2_000)) {
+                hits++;
+            }
+        }
+
+        OperationTimer contains = set.metrics().timer("contains");
+        assertThat(contains.sampleInterval()).isEqualTo(64);
+        assertThat(contains.snapshot().count()).isBetween(9_000L, 11_000L);
+        assertThat(contains.estimatedCount()).isEqualTo(contains.snapshot().count() * 64);
+        assertThat(set.metrics().timer("add").snapshot().count()).isBetween(10L, 20L);
+        assertThat(hits).isEqualTo(320_000);
+    }
+
+    @Test
+    @DisplayName("표본 간격은 2 의 거듭제곱이어야 하고, 없는 연산 이름은 거부한다.")
+    void invalidArgumentsTest() {
+        assertThatThrownBy(() -> new InstrumentedSet<>(new HashSet<>(), "bad", 3))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InstrumentedSet<>(new HashSet<>(), "set").metrics().timer("iterator"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
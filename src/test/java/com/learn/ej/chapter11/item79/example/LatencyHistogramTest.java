@@ -0,0 +1,118 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("백분위수는 정확한 값 이상이고 상대 오차는 1/32 이하다.")
+    void percentileErrorBoundTest() {
+        Random random = new Random(42);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 24);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(values.length);
+        assertThat(snapshot.maxNanos()).isEqualTo(values[values.length - 1]);
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimated = snapshot.valueAtPercentile(percentile);
+            assertThat(estimated).isGreaterThanOrEqualTo(exact);
+            assertThat((double) estimated).isCloseTo(exact, within(exact / 32.0 + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("구간 번호는 값이 커질수록 줄어들지 않고, 32 보다 작은 값은 정확히 센다.")
+    void bucketIndexTest() {
+        for (long value = 0; value < LatencyHistogram.SUB_BUCKET_COUNT; value++) {
+            assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.bucketIndex(value))).isEqualTo(value);
+        }
+        int previous = 0;
+        for (long value = 1; value <= LatencyHistogram.MAX_TRACKABLE_NANOS; value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(index).isGreaterThanOrEqualTo(previous).isLessThan(LatencyHistogram.BUCKET_COUNT);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            previous = index;
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 빠지는 값이 없다.")
+    void concurrentRecordTest() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.record(i % 1000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(400_000);
+        assertThat(snapshot.totalNanos()).isEqualTo(4L * 100 * (999 * 1000 / 2));
+        assertThat(snapshot.maxNanos()).isEqualTo(999);
+    }
+
+    @Test
+    @DisplayName("recentSnapshot 은 두 구간이 지난 값을 빼고, 누적 snapshot 은 그대로 둔다.")
+    void recentSnapshotTest() {
+        AtomicLong now = new AtomicLong();
+        LatencyHistogram histogram = new LatencyHistogram(Duration.ofSeconds(60), now::get);
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000_000);
+        }
+        assertThat(histogram.recentSnapshot().valueAtPercentile(50)).isGreaterThanOrEqualTo(1_000_000);
+
+        // 구간은 읽을 때 넘어간다. 지난 구간의 값은 한 구간 더 남아 있다.
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertThat(histogram.recentSnapshot().count()).isEqualTo(100);
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000);
+        }
+        assertThat(histogram.recentSnapshot().count()).isEqualTo(200);
+
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        LatencyHistogram.Snapshot recent = histogram.recentSnapshot();
+        assertThat(recent.count()).isEqualTo(100);
+        assertThat(recent.totalNanos()).isEqualTo(100_000);
+        assertThat(recent.valueAtPercentile(99.9)).isBetween(1_000L, 1_000L + 1_000 / 32);
+        assertThat(recent.maxNanos()).isBetween(1_000L, 1_000L + 1_000 / 32);
+
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertThat(histogram.recentSnapshot().count()).isZero();
+        assertThat(histogram.recentSnapshot().maxNanos()).isZero();
+
+        LatencyHistogram.Snapshot cumulative = histogram.snapshot();
+        assertThat(cumulative.count()).isEqualTo(200);
+        assertThat(cumulative.maxNanos()).isEqualTo(1_000_000);
+    }
+}
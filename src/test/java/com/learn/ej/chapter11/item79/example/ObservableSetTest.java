@@ -0,0 +1,457 @@
+package com.learn.ej.chapter11.item79.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ObservableSetTest {
+
+    @Test
+    @DisplayName("콜백 안에서 자기 자신을 제거해도 ConcurrentModificationException 이 발생하지 않는다. (사례 #1)")
+    void removeSelfInCallbackTest() {
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>());
+        List<Integer> received = new ArrayList<>();
+        set.addObserver(new SetObserver<>() {
+            @Override
+            public void added(ObservableSet<Integer> s, Integer e) {
+                received.add(e);
+                if (e == 23) {
+                    s.removeObserver(this);
+                }
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        assertThat(received).hasSize(24).endsWith(23);
+    }
+
+    @Test
+    @DisplayName("다른 스레드에서 관찰자를 제거해도 교착상태에 빠지지 않는다. (사례 #2)")
+    void removeFromOtherThreadTest() {
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>());
+        set.addObserver(new SetObserver<>() {
+            @Override
+            public void added(ObservableSet<Integer> s, Integer e) {
+                if (e == 23) {
+                    ExecutorService exec = Executors.newSingleThreadExecutor();
+                    try {
+                        exec.submit(() -> s.removeObserver(this)).get();
+                    } catch (ExecutionException | InterruptedException ex) {
+                        throw new AssertionError(ex);
+                    } finally {
+                        exec.shutdown();
+                    }
+                }
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        assertThat(set).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("이미 있는 원소를 추가하면 알림이 가지 않는다.")
+    void duplicateAddNotNotifiedTest() {
+        ObservableSet<String> set = new ObservableSet<>(new HashSet<>());
+        List<String> received = new ArrayList<>();
+        set.addObserver((s, e) -> received.add(e));
+
+        set.add("a");
+        set.add("a");
+
+        assertThat(received).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("비동기 모드에서도 관찰자별로 추가된 순서대로 알림을 받는다.")
+    void asyncOrderedDeliveryTest() throws InterruptedException {
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(exec, 128, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(), dispatcher);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(10_000);
+        SetObserver<Integer> observer = (s, e) -> {
+            received.add(e);
+            done.countDown();
+        };
+        set.addObserver(observer);
+
+        for (int i = 0; i < 10_000; i++) {
+            set.add(i);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        exec.shutdown();
+        assertThat(received).isSorted().hasSize(10_000);
+        assertThat(dispatcher.metricsOf(observer)).hasValueSatisfying(
+            metrics -> assertThat(metrics.delivered()).isEqualTo(10_000));
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 정책은 큐가 가득 차면 오래된 알림을 버리고 쓰기 스레드를 막지 않는다.")
+    void asyncDropOldestTest() throws InterruptedException {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(exec, 4, BackpressurePolicy.DROP_OLDEST);
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(), dispatcher);
+        SetObserver<Integer> slowObserver = (s, e) -> {
+            entered.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        set.addObserver(slowObserver);
+
+        set.add(0);
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < 100; i++) {
+            set.add(i);
+        }
+
+        assertThat(dispatcher.totalQueueDepth()).isEqualTo(4);
+        assertThat(dispatcher.metricsOf(slowObserver)).hasValueSatisfying(
+            metrics -> assertThat(metrics.dropped()).isEqualTo(95));
+        blocker.countDown();
+        exec.shutdown();
+    }
+
+    @Test
+    @DisplayName("비동기 모드에서 같은 관찰자를 두 번 등록하면 두 번 해제해야 알림이 멈춘다.")
+    void asyncDuplicateRegistrationTest() {
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(Runnable::run, 16, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(), dispatcher);
+        List<Integer> received = new ArrayList<>();
+        SetObserver<Integer> observer = (s, e) -> received.add(e);
+        set.addObserver(observer);
+        set.addObserver(observer);
+
+        set.add(1);
+        set.removeObserver(observer);
+        set.add(2);
+        set.removeObserver(observer);
+        set.add(3);
+
+        assertThat(received).containsExactly(1, 1, 2);
+        assertThat(dispatcher.metricsOf(observer)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("executor 가 작업을 거부하면 예외를 알리고, 이후 알림에서 남은 큐를 다시 비운다.")
+    void asyncRejectedExecutionTest() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("saturated");
+            }
+            task.run();
+        };
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(executor, 16, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(), dispatcher);
+        List<Integer> received = new ArrayList<>();
+        set.addObserver((s, e) -> received.add(e));
+
+        assertThatThrownBy(() -> set.add(1)).isInstanceOf(RejectedExecutionException.class);
+        reject.set(false);
+        set.add(2);
+
+        assertThat(received).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("관찰자가 Error 를 던져도 실패로 세고, 같은 큐의 다음 알림을 계속 전달한다.")
+    void asyncObserverErrorTest() throws InterruptedException {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(exec, 4, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> set = new ObservableSet<>(ConcurrentHashMap.newKeySet(), dispatcher);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(99);
+        SetObserver<Integer> observer = (s, e) -> {
+            if (e == 0) {
+                throw new AssertionError("broken observer");
+            }
+            received.add(e);
+            done.countDown();
+        };
+        set.addObserver(observer);
+
+        for (int i = 0; i < 100; i++) {
+            set.add(i);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        exec.shutdown();
+        assertThat(received).isSorted().hasSize(99);
+        assertThat(dispatcher.metricsOf(observer)).hasValueSatisfying(
+            metrics -> assertThat(metrics.failed()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("BLOCK 정책이어도 관찰자가 콜백 안에서 set 에 쓰면 자기 큐를 기다리지 않고 오래된 알림을 버린다.")
+    void asyncObserverWritesBackTest() throws InterruptedException {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        AsyncObserverDispatcher<Integer> dispatcher =
+            new AsyncObserverDispatcher<>(exec, 4, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> set = new ObservableSet<>(ConcurrentHashMap.newKeySet(), dispatcher);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch filled = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        SetObserver<Integer> observer = (s, e) -> {
+            received.add(e);
+            if (e == 0) {
+                entered.countDown();
+                try {
+                    filled.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                s.add(100);
+            } else if (e == 100) {
+                done.countDown();
+            }
+        };
+        set.addObserver(observer);
+
+        set.add(0);
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i <= 4; i++) {
+            set.add(i);
+        }
+        filled.countDown();
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        exec.shutdown();
+        assertThat(received).containsExactly(0, 2, 3, 4, 100);
+        assertThat(dispatcher.metricsOf(observer)).hasValueSatisfying(
+            metrics -> assertThat(metrics.dropped()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("큐에 넣지 못한 관찰자가 있어도 나머지 관찰자와 일괄 관찰자에게 알린 뒤에 첫 실패를 던진다.")
+    void asyncDispatchFailureNotifiesOthersTest() {
+        AsyncObserverDispatcher<Integer> idle =
+            new AsyncObserverDispatcher<>(task -> { }, 1, BackpressurePolicy.FAIL);
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(), idle);
+        SetObserver<Integer> full = (s, e) -> { };
+        SetObserver<Integer> other = (s, e) -> { };
+        List<Integer> batched = new ArrayList<>();
+        set.addObserver(full);
+        set.add(1);
+        set.addObserver(other);
+        set.addBatchObserver(additionRecorder(batched));
+
+        assertThatThrownBy(() -> set.add(2)).isInstanceOf(IllegalStateException.class);
+        assertThat(set).contains(2);
+        assertThat(batched).containsExactly(2);
+        assertThat(idle.metricsOf(other)).hasValueSatisfying(
+            metrics -> assertThat(metrics.queueDepth()).isEqualTo(1));
+
+        AsyncObserverDispatcher<Integer> rejecting = new AsyncObserverDispatcher<>(task -> {
+            throw new RejectedExecutionException("saturated");
+        }, 16, BackpressurePolicy.BLOCK);
+        ObservableSet<Integer> rejected = new ObservableSet<>(new HashSet<>(), rejecting);
+        List<Integer> rejectedBatched = new ArrayList<>();
+        rejected.addObserver(full);
+        rejected.addObserver(other);
+        rejected.addBatchObserver(additionRecorder(rejectedBatched));
+
+        assertThatThrownBy(() -> rejected.addAll(List.of(1, 2))).isInstanceOf(RejectedExecutionException.class);
+        assertThat(rejectedBatched).containsExactly(1, 2);
+        assertThat(rejecting.totalQueueDepth()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("일괄 관찰자는 addAll/removeAll/retainAll/clear 마다 실제로 바뀐 원소를 한 번에 받는다.")
+    void batchObserverTest() {
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>());
+        List<Collection<Integer>> added = new ArrayList<>();
+        List<Collection<Integer>> removed = new ArrayList<>();
+        set.addBatchObserver(new SetBatchObserver<>() {
+            @Override
+            public void added(ObservableSet<Integer> s, Collection<Integer> elements) {
+                added.add(new ArrayList<>(elements));
+            }
+
+            @Override
+            public void removed(ObservableSet<Integer> s, Collection<Integer> elements) {
+                removed.add(new ArrayList<>(elements));
+            }
+        });
+
+        set.addAll(List.of(1, 2, 3, 4, 5));
+        set.addAll(List.of(5, 6));
+        set.removeAll(List.of(1, 100));
+        set.retainAll(Set.of(2, 3));
+        set.clear();
+
+        assertThat(added).containsExactly(List.of(1, 2, 3, 4, 5), List.of(6));
+        assertThat(removed).hasSize(3);
+        assertThat(removed.get(0)).containsExactly(1);
+        assertThat(removed.get(1)).containsExactlyInAnyOrder(4, 5, 6);
+        assertThat(removed.get(2)).containsExactlyInAnyOrder(2, 3);
+    }
+
+    @Test
+    @DisplayName("removeIf 로 지운 원소도 일괄 관찰자에게 알린다.")
+    void removeIfNotifiedTest() {
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(List.of(1, 2, 3, 4)));
+        List<Integer> removed = new ArrayList<>();
+        set.addBatchObserver(new SetBatchObserver<>() {
+            @Override
+            public void added(ObservableSet<Integer> s, Collection<Integer> elements) {
+            }
+
+            @Override
+            public void removed(ObservableSet<Integer> s, Collection<Integer> elements) {
+                removed.addAll(elements);
+            }
+        });
+
+        assertThat(set.removeIf(e -> e % 2 == 0)).isTrue();
+        assertThat(set.removeIf(e -> e > 100)).isFalse();
+
+        assertThat(set).containsExactlyInAnyOrder(1, 3);
+        assertThat(removed).containsExactlyInAnyOrder(2, 4);
+    }
+
+    @Test
+    @DisplayName("이터레이터의 remove 로 지운 원소도 일괄 관찰자에게 알린다.")
+    void iteratorRemoveNotifiedTest() {
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>(List.of(1, 2, 3, 4)));
+        ConcurrentObservableSet<Integer> concurrentSet = new ConcurrentObservableSet<>();
+        concurrentSet.addAll(List.of(1, 2, 3, 4));
+        List<Integer> removed = new ArrayList<>();
+        List<Integer> concurrentRemoved = new ArrayList<>();
+        set.addBatchObserver(removalRecorder(removed));
+        concurrentSet.addBatchObserver(removalRecorder(concurrentRemoved));
+
+        for (Iterator<Integer> it = set.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        for (Iterator<Integer> it = concurrentSet.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+
+        assertThat(set).containsExactlyInAnyOrder(1, 3);
+        assertThat(removed).containsExactlyInAnyOrder(2, 4);
+        assertThat(concurrentSet).containsExactlyInAnyOrder(1, 3);
+        assertThat(concurrentRemoved).containsExactlyInAnyOrder(2, 4);
+    }
+
+    @Test
+    @DisplayName("remove/removeAll 은 set 이 같다고 판정한 인자를 알린다.")
+    void removedReportsArgumentTest() {
+        ObservableSet<String> sorted = new ObservableSet<>(new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+        sorted.addAll(List.of("Apple", "Banana", "Cherry", "Durian"));
+        List<String> sortedRemoved = new ArrayList<>();
+        sorted.addBatchObserver(removalRecorder(sortedRemoved));
+
+        sorted.remove("APPLE");
+        sorted.removeAll(List.of("banana", "fig"));
+
+        String argument = new String("kiwi");
+        ObservableSet<String> hashed = new ObservableSet<>(new HashSet<>(List.of("kiwi", "lime", "mango")));
+        List<String> hashedRemoved = new ArrayList<>();
+        hashed.addBatchObserver(removalRecorder(hashedRemoved));
+
+        hashed.remove(argument);
+        hashed.remove("fig");
+
+        assertThat(sorted).containsExactlyInAnyOrder("Cherry", "Durian");
+        assertThat(sortedRemoved).containsExactly("APPLE", "banana");
+        assertThat(hashedRemoved).hasSize(1);
+        assertThat(hashedRemoved.get(0)).isSameAs(argument);
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("일괄 관찰자가 있어도 원소를 하나씩 지우는 비용은 원본 set 과 같다.")
+    void removeManyWithBatchObserverTest() {
+        int n = 200_000;
+        ObservableSet<Integer> set = new ObservableSet<>(new HashSet<>());
+        ConcurrentObservableSet<Integer> concurrentSet = new ConcurrentObservableSet<>();
+        List<Integer> numbers = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        set.addAll(numbers);
+        concurrentSet.addAll(numbers);
+        List<Integer> removed = new ArrayList<>();
+        List<Integer> concurrentRemoved = new ArrayList<>();
+        set.addBatchObserver(removalRecorder(removed));
+        concurrentSet.addBatchObserver(removalRecorder(concurrentRemoved));
+
+        for (int i = 0; i < n; i++) {
+            set.remove(i);
+            concurrentSet.removeAll(List.of(i));
+        }
+
+        assertThat(set).isEmpty();
+        assertThat(concurrentSet).isEmpty();
+        assertThat(removed).hasSize(n);
+        assertThat(concurrentRemoved).hasSize(n);
+    }
+
+    private static <E> SetBatchObserver<E> additionRecorder(List<E> added) {
+        return new SetBatchObserver<>() {
+            @Override
+            public void added(ObservableSet<E> s, Collection<E> elements) {
+                added.addAll(elements);
+            }
+
+            @Override
+            public void removed(ObservableSet<E> s, Collection<E> elements) {
+            }
+        };
+    }
+
+    private static <E> SetBatchObserver<E> removalRecorder(List<E> removed) {
+        return new SetBatchObserver<>() {
+            @Override
+            public void added(ObservableSet<E> s, Collection<E> elements) {
+            }
+
+            @Override
+            public void removed(ObservableSet<E> s, Collection<E> elements) {
+                removed.addAll(elements);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("압축한 번호의 중복을 HashSet<PhoneNumber> 와 똑같이 걸러 낸다.")
+    void dedupTest() {
+        Random rnd = new Random(42);
+        LongHashSet keys = new LongHashSet();
+        Set<PhoneNumber> phoneNumbers = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            PhoneNumber pn = new PhoneNumber(rnd.nextInt(10), rnd.nextInt(10), rnd.nextInt(1000));
+            assertThat(keys.add(PhoneNumberKeys.pack(pn))).isEqualTo(phoneNumbers.add(pn));
+        }
+
+        assertThat(keys.size()).isEqualTo(phoneNumbers.size());
+        for (long key : keys.toArray()) {
+            assertThat(phoneNumbers).contains(PhoneNumberKeys.unpack(key));
+        }
+    }
+
+    @Test
+    @DisplayName("지운 뒤에도 같은 묶음에 있던 키를 찾을 수 있고, 0 도 키로 쓸 수 있다.")
+    void removeTest() {
+        LongHashSet set = new LongHashSet(4, 0.9f);
+        assertThat(set.addAll(new long[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 3, 0})).isEqualTo(9);
+
+        assertThat(set.remove(0)).isTrue();
+        assertThat(set.remove(3)).isTrue();
+        assertThat(set.remove(3)).isFalse();
+
+        assertThat(set.size()).isEqualTo(7);
+        assertThat(set.contains(0)).isFalse();
+        for (long key : new long[]{1, 2, 4, 5, 6, 7, 8}) {
+            assertThat(set.contains(key)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("loadFactor 는 0 과 1 사이여야 한다.")
+    void invalidLoadFactorTest() {
+        assertThatThrownBy(() -> new LongHashSet(16, 1.0f))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
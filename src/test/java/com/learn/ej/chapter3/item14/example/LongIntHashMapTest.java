@@ -0,0 +1,32 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("addTo 로 번호별 개수를 세고, 지운 키는 기본값을 돌려준다.")
+    void countTest() {
+        LongIntHashMap counts = new LongIntHashMap();
+        for (int i = 0; i < 10_000; i++) {
+            counts.addTo(PhoneNumberKeys.pack(i % 3, 0, i % 100), 1);
+        }
+
+        assertThat(counts.size()).isEqualTo(300);
+        assertThat(counts.getOrDefault(PhoneNumberKeys.pack(0, 0, 0), -1)).isEqualTo(34);
+
+        counts.put(0, 7);
+        assertThat(counts.getOrDefault(0, -1)).isEqualTo(7);
+        assertThat(counts.remove(0)).isTrue();
+        assertThat(counts.getOrDefault(0, -1)).isEqualTo(-1);
+
+        Map<Long, Integer> copy = new HashMap<>();
+        counts.forEach(copy::put);
+        assertThat(copy).hasSize(299);
+    }
+}
@@ -0,0 +1,37 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PhoneNumberComparatorsTest {
+
+    @Test
+    @DisplayName("생성된 비교기는 compareTo, Comparator 조합과 같은 순서로 정렬한다.")
+    void fusedComparatorTest() {
+        Random rnd = new Random(42);
+        List<PhoneNumber> phoneNumbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            phoneNumbers.add(new PhoneNumber(rnd.nextInt(10), rnd.nextInt(10), rnd.nextInt(100)));
+        }
+
+        List<PhoneNumber> natural = new ArrayList<>(phoneNumbers);
+        Collections.sort(natural);
+        List<PhoneNumber> fused = new ArrayList<>(phoneNumbers);
+        fused.sort(PhoneNumberComparators.NATURAL_ORDER);
+        assertThat(fused).containsExactlyElementsOf(natural);
+
+        List<PhoneNumber> byLineNum = new ArrayList<>(phoneNumbers);
+        byLineNum.sort(Comparator.comparingInt(PhoneNumber::getLineNum)
+            .thenComparingInt(PhoneNumber::getAreaCode)
+            .thenComparingInt(PhoneNumber::getPrefix));
+        fused.sort(PhoneNumberComparators.BY_LINE_NUM);
+        assertThat(fused).containsExactlyElementsOf(byLineNum);
+    }
+}
@@ -0,0 +1,83 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PhoneNumberExternalSorterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("메모리 예산보다 큰 입력도 run 으로 나눠 merge 해서 compareTo 순서로 정렬하고, 임시 파일은 지운다.")
+    void sortLargerThanBudgetTest() throws IOException {
+        List<PhoneNumber> phoneNumbers = randomPhoneNumbers(50_000);
+        Path runDir = Files.createDirectory(tempDir.resolve("runs"));
+        Path output = tempDir.resolve("sorted.pnb");
+
+        long count = PhoneNumberExternalSorter.builder()
+            .memoryBudgetBytes(64 * 1024)
+            .tempDirectory(runDir)
+            .build()
+            .sort(phoneNumbers, output);
+
+        List<PhoneNumber> expected = new ArrayList<>(phoneNumbers);
+        Collections.sort(expected);
+        assertThat(count).isEqualTo(expected.size());
+        try (PhoneNumberFileReader reader = new PhoneNumberFileReader(output);
+            Stream<Path> leftovers = Files.list(runDir)) {
+            assertThat(reader.isSorted()).isTrue();
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(reader.get(i)).isEqualByComparingTo(expected.get(i));
+            }
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("distinct 이면 merge 하면서 같은 번호를 하나만 남긴다.")
+    void distinctTest() throws IOException {
+        Path input = tempDir.resolve("input.pnb");
+        try (PhoneNumberFileWriter writer = new PhoneNumberFileWriter(input)) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.write(i % 7, 0, i % 100);
+            }
+        }
+        Path output = tempDir.resolve("distinct.pnb");
+
+        long count = PhoneNumberExternalSorter.builder()
+            .memoryBudgetBytes(4 * 1024)
+            .tempDirectory(tempDir)
+            .distinct()
+            .build()
+            .sort(input, output);
+
+        // i % 7 과 i % 100 의 조합은 700 가지다.
+        assertThat(count).isEqualTo(700);
+        try (PhoneNumberFileReader reader = new PhoneNumberFileReader(output)) {
+            for (long i = 1; i < reader.size(); i++) {
+                assertThat(reader.key(i)).isGreaterThan(reader.key(i - 1));
+            }
+        }
+    }
+
+    private static List<PhoneNumber> randomPhoneNumbers(int size) {
+        Random rnd = new Random(42);
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            phoneNumbers.add(new PhoneNumber(rnd.nextInt(100), rnd.nextInt(100), rnd.nextInt(9_999_999) + 10_000_000));
+        }
+        return phoneNumbers;
+    }
+}
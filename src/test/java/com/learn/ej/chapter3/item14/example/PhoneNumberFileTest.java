@@ -0,0 +1,59 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PhoneNumberFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("정렬된 순서로 쓴 파일은 정렬 표시가 남고, 매핑해서 이진 탐색할 수 있다.")
+    void writeAndSearchSortedFileTest() throws IOException {
+        Path file = tempDir.resolve("sorted.pnb");
+        try (PhoneNumberFileWriter writer = new PhoneNumberFileWriter(file)) {
+            for (int lineNum = 0; lineNum < 1000; lineNum++) {
+                writer.write(2, 1, lineNum * 2);
+            }
+            writer.write(3, 0, 0);
+        }
+
+        assertThat(Files.size(file)).isEqualTo(16 + 1001 * 8);
+        try (PhoneNumberFileReader reader = new PhoneNumberFileReader(file)) {
+            assertThat(reader.size()).isEqualTo(1001);
+            assertThat(reader.isSorted()).isTrue();
+            assertThat(reader.get(1000).getAreaCode()).isEqualTo(3);
+            assertThat(reader.binarySearch(new PhoneNumber(2, 1, 10))).isEqualTo(5);
+            assertThat(reader.binarySearch(new PhoneNumber(2, 1, 11))).isEqualTo(-7);
+            assertThat(reader.binarySearch(new PhoneNumber(-1, 0, 0))).isEqualTo(-1);
+            assertThat(reader.count(2, 1)).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("정렬되지 않은 파일은 이진 탐색할 수 없고, close() 하지 않은 파일은 열 수 없다.")
+    void unsortedAndIncompleteFileTest() throws IOException {
+        Path file = tempDir.resolve("unsorted.pnb");
+        PhoneNumberFileWriter writer = new PhoneNumberFileWriter(file);
+        writer.write(new PhoneNumber(2, 0, 0));
+        writer.write(new PhoneNumber(1, 0, 0));
+
+        assertThatThrownBy(() -> new PhoneNumberFileReader(file))
+            .isInstanceOf(IOException.class);
+
+        writer.close();
+        try (PhoneNumberFileReader reader = new PhoneNumberFileReader(file)) {
+            assertThat(reader.isSorted()).isFalse();
+            assertThatThrownBy(() -> reader.count(1, 0))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
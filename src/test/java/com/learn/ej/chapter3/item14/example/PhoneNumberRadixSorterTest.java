@@ -0,0 +1,76 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PhoneNumberRadixSorterTest {
+
+    @Test
+    @DisplayName("radix sort 결과는 Collections.sort 와 원소 하나하나까지 같다. (같은 번호의 순서도 유지된다.)")
+    void matchesCompareToTest() {
+        List<PhoneNumber> phoneNumbers = randomPhoneNumbers(PhoneNumberRadixSorter.PARALLEL_THRESHOLD * 2);
+        List<PhoneNumber> expected = new ArrayList<>(phoneNumbers);
+        Collections.sort(expected);
+
+        List<PhoneNumber> sorted = new ArrayList<>(phoneNumbers);
+        PhoneNumberRadixSorter.sort(sorted);
+        List<PhoneNumber> parallelSorted = new ArrayList<>(phoneNumbers);
+        PhoneNumberRadixSorter.parallelSort(parallelSorted);
+        int[] indices = PhoneNumberRadixSorter.sortedIndices(phoneNumbers);
+
+        // 같은 번호끼리의 순서까지 확인하려고 equals 가 아니라 같은 객체인지로 비교한다.
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(sorted.get(i)).isSameAs(expected.get(i));
+            assertThat(parallelSorted.get(i)).isSameAs(expected.get(i));
+            assertThat(phoneNumbers.get(indices[i])).isSameAs(expected.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("압축할 수 없는 번호가 섞여 있으면 비교 정렬로 대신한다.")
+    void fallbackToComparisonSortTest() {
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(List.of(
+            new PhoneNumber(10, 1, 1),
+            new PhoneNumber(-1, 2, 3),
+            new PhoneNumber(PhoneNumberKeys.MAX_AREA_CODE, 0, PhoneNumberKeys.MAX_LINE_NUM),
+            new PhoneNumber(100_000, 0, 0)));
+        List<PhoneNumber> expected = new ArrayList<>(phoneNumbers);
+        Collections.sort(expected);
+
+        PhoneNumberRadixSorter.sort(phoneNumbers);
+
+        assertThat(phoneNumbers).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("long 배열은 음수를 포함해도 Arrays.sort 와 같은 순서가 된다.")
+    void sortLongArrayTest() {
+        long[] keys = new Random(42).longs(PhoneNumberRadixSorter.PARALLEL_THRESHOLD * 2).toArray();
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+        long[] parallelSorted = keys.clone();
+
+        PhoneNumberRadixSorter.sort(keys);
+        PhoneNumberRadixSorter.parallelSort(parallelSorted);
+
+        assertThat(keys).containsExactly(expected);
+        assertThat(parallelSorted).containsExactly(expected);
+    }
+
+    private static List<PhoneNumber> randomPhoneNumbers(int size) {
+        Random rnd = new Random(42);
+        List<PhoneNumber> phoneNumbers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // 범위를 좁게 잡아서 같은 번호가 여러 번 나오게 한다.
+            phoneNumbers.add(new PhoneNumber(rnd.nextInt(100), rnd.nextInt(100), rnd.nextInt(1000)));
+        }
+        return phoneNumbers;
+    }
+}
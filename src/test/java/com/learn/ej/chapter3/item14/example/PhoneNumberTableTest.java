@@ -0,0 +1,47 @@
+package com.learn.ej.chapter3.item14.example;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PhoneNumberTableTest {
+
+    @Test
+    @DisplayName("정렬한 표는 areaCode, areaCode + prefix 범위만 읽는다.")
+    void seekTest() {
+        PhoneNumberTable table = new PhoneNumberTable();
+        table.append(2, 1, 300);
+        table.append(1, 9, 100);
+        table.append(2, 1, 100);
+        table.append(2, 5, 100);
+        table.append(3, 1, 100);
+        table.sort();
+
+        PhoneNumberTable.Cursor cursor = table.cursor().seek(2);
+        List<String> rows = new ArrayList<>();
+        while (cursor.next()) {
+            rows.add(cursor.areaCode() + "-" + cursor.prefix() + "-" + cursor.lineNum());
+        }
+        assertThat(rows).containsExactly("2-1-100", "2-1-300", "2-5-100");
+
+        assertThat(cursor.seek(2, 1).remaining()).isEqualTo(2);
+        assertThat(cursor.seek(2, 2).next()).isFalse();
+        assertThat(cursor.seek(-1).next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("정렬되지 않은 표에서는 범위를 찾을 수 없다.")
+    void seekUnsortedTableTest() {
+        PhoneNumberTable table = new PhoneNumberTable();
+        table.append(new PhoneNumber(2, 0, 0));
+        table.append(new PhoneNumber(1, 0, 0));
+
+        assertThat(table.isSorted()).isFalse();
+        assertThatThrownBy(() -> table.cursor().seek(1))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.learn.ej.chapter5.item28;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ChooserTest {
+
+    @Test
+    @DisplayName("중복 없이 뽑으면 서로 다른 k 개가 나오고, 원본보다 많이 뽑을 수는 없다.")
+    void sampleWithoutReplacementTest() {
+        List<Integer> numbers = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Chooser<Integer> chooser = new Chooser<>(numbers);
+        Integer[] out = new Integer[100];
+
+        chooser.sample(100, out);
+        assertThat(out).containsExactlyInAnyOrderElementsOf(numbers);
+
+        chooser.sample(10, out);
+        assertThat(List.of(out).subList(0, 10)).doesNotHaveDuplicates();
+
+        assertThatThrownBy(() -> new Chooser<>(List.of(1, 2)).sample(3, new Integer[3]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("원본에 비해 k 가 작아도 중복 없이 고르게 뽑힌다.")
+    void sampleFewFromLargeTest() {
+        Chooser<Integer> chooser = new Chooser<>(IntStream.range(0, 6_400).boxed().collect(Collectors.toList()));
+        Integer[] out = new Integer[3];
+        int[] buckets = new int[10];
+
+        for (int i = 0; i < 20_000; i++) {
+            chooser.sample(3, out);
+            assertThat(out).doesNotHaveDuplicates();
+            for (Integer value : out) {
+                buckets[value / 640]++;
+            }
+        }
+
+        assertThat(buckets).allSatisfy(count -> assertThat(count).isBetween(5_400, 6_600));
+    }
+
+    @Test
+    @Timeout(10)
+    @DisplayName("k 가 커서 인덱스 표가 65536 칸을 넘어도 뽑는 비용은 k 에 비례한다.")
+    void sampleManyFromHugeTest() {
+        int size = 6_400_000;
+        int k = 100_000;
+        Chooser<Integer> chooser = new Chooser<>(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+        Integer[] out = new Integer[k];
+
+        for (int i = 0; i < 5; i++) {
+            chooser.sample(k, out);
+            assertThat(out).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    @DisplayName("가중치가 0 인 원소는 뽑히지 않고, 나머지는 가중치에 비례해서 뽑힌다.")
+    void weightedChooserTest() {
+        Map<String, Integer> weights = Map.of("a", 1, "b", 3, "zero", 0);
+        WeightedChooser<String> chooser = new WeightedChooser<>(weights.keySet(), weights::get);
+
+        String[] out = new String[100_000];
+        chooser.choose(out.length, out);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String s : out) {
+            counts.merge(s, 1, Integer::sum);
+        }
+
+        assertThat(counts).doesNotContainKey("zero");
+        assertThat(counts.get("b") / (double) counts.get("a")).isBetween(2.7, 3.3);
+    }
+
+    @Test
+    @DisplayName("Reservoir 는 k 개만 보관하고, 입력이 k 개보다 적으면 전부 돌려준다.")
+    void reservoirSamplerTest() {
+        ReservoirSampler<Integer> small = new ReservoirSampler<>(10);
+        IntStream.range(0, 3).boxed().forEach(small);
+        assertThat(small.result()).containsExactly(0, 1, 2);
+
+        ReservoirSampler<Integer> large = new ReservoirSampler<>(10);
+        IntStream.range(0, 1_000_000).boxed().forEach(large);
+        assertThat(large.seen()).isEqualTo(1_000_000);
+        assertThat(large.result()).hasSize(10).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,57 @@
+package com.learn.ej.chapter5.item29;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EmptyStackException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentGenericStackTest {
+
+    @Test
+    @DisplayName("단일 스레드에서는 GenericStackV2 와 같이 동작한다.")
+    void singleThreadTest() {
+        ConcurrentGenericStack<String> stack = new ConcurrentGenericStack<>();
+        stack.push("a");
+        stack.push(null);
+        stack.push("c");
+
+        assertThat(stack.pop()).isEqualTo("c");
+        assertThat(stack.pop()).isNull();
+        assertThat(stack.peek()).isEqualTo("a");
+        assertThat(stack.pop()).isEqualTo("a");
+        assertThatThrownBy(stack::pop).isInstanceOf(EmptyStackException.class);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 push/pop 해도 원소가 사라지거나 중복되지 않는다.")
+    void concurrentPushPopTest() throws InterruptedException {
+        int threads = 8;
+        int iterations = 100_000;
+        ConcurrentGenericStack<Integer> stack = new ConcurrentGenericStack<>(4);
+        LongAdder popped = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService exec = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            exec.submit(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    stack.push(1);
+                    popped.add(stack.pop());
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(1, TimeUnit.MINUTES)).isTrue();
+        exec.shutdown();
+        assertThat(popped.sum()).isEqualTo((long) threads * iterations);
+        assertThat(stack.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.learn.ej.chapter5.item29;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.EmptyStackException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StackTest {
+
+    @Test
+    @DisplayName("기본 용량(16)을 넘어서 push 해도 예외 없이 늘어난다.")
+    void growBeyondDefaultCapacityTest() {
+        ObjectStack objectStack = new ObjectStack();
+        GenericStack<Integer> genericStack = new GenericStack<>();
+        GenericStackV2<Integer> genericStackV2 = new GenericStackV2<>();
+
+        for (int i = 0; i < 100; i++) {
+            objectStack.push(i);
+            genericStack.push(i);
+            genericStackV2.push(i);
+        }
+
+        for (int i = 99; i >= 0; i--) {
+            assertThat(objectStack.pop()).isEqualTo(i);
+            assertThat(genericStack.pop()).isEqualTo(i);
+            assertThat(genericStackV2.pop()).isEqualTo(i);
+        }
+        assertThat(genericStackV2.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("빈 스택에서 pop 하면 EmptyStackException 이 발생한다.")
+    void popEmptyStackTest() {
+        assertThatThrownBy(() -> new GenericStackV2<String>().pop())
+            .isInstanceOf(EmptyStackException.class);
+        assertThatThrownBy(() -> new IntStack().pop())
+            .isInstanceOf(EmptyStackException.class);
+    }
+
+    @Test
+    @DisplayName("QUARTER 정책은 원소가 줄어들면 다시 작아지고, 값은 그대로 유지된다.")
+    void shrinkPolicyTest() {
+        LongStack stack = new LongStack(4, ShrinkPolicy.QUARTER);
+        for (long i = 0; i < 10_000; i++) {
+            stack.push(i);
+        }
+        int grownCapacity = stack.capacity();
+        while (stack.size() > 3) {
+            stack.pop();
+        }
+
+        assertThat(grownCapacity).isGreaterThanOrEqualTo(10_000);
+        assertThat(stack.capacity()).isLessThanOrEqualTo(16);
+        assertThat(stack.toArray()).containsExactly(0L, 1L, 2L);
+        assertThat(stack.peek()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("NEVER 정책은 원소가 줄어들어도 배열을 그대로 둔다.")
+    void neverShrinkPolicyTest() {
+        IntStack stack = new IntStack(4, ShrinkPolicy.NEVER);
+        for (int i = 0; i < 1_000; i++) {
+            stack.push(i);
+        }
+        int grownCapacity = stack.capacity();
+        while (!stack.isEmpty()) {
+            stack.pop();
+        }
+
+        assertThat(stack.capacity()).isEqualTo(grownCapacity);
+    }
+
+    @Test
+    @DisplayName("기본 타입 스택은 LIFO 순서를 지킨다.")
+    void primitiveStackTest() {
+        IntStack intStack = new IntStack(1);
+        DoubleStack doubleStack = new DoubleStack(1);
+        for (int i = 0; i < 1_000; i++) {
+            intStack.push(i);
+            doubleStack.push(i * 0.5);
+        }
+
+        for (int i = 999; i >= 0; i--) {
+            assertThat(intStack.pop()).isEqualTo(i);
+            assertThat(doubleStack.pop()).isEqualTo(i * 0.5);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.learn.ej.chapter5.item30;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SelectionTest {
+
+    @Test
+    @DisplayName("max/min 은 Collections.max/min 과 같은 값을 돌려주고, 비어 있으면 NoSuchElementException 이 발생한다.")
+    void maxMinTest() {
+        List<String> words = List.of("pear", "apple", "zebra", "mango");
+
+        assertThat(Selection.max(words)).isEqualTo("zebra");
+        assertThat(Selection.min(new LinkedList<>(words))).isEqualTo("apple");
+        assertThat(Selection.max(new int[]{3, -7, 12, 5})).isEqualTo(12);
+        assertThat(Selection.min(new long[]{3, -7, 12, 5})).isEqualTo(-7);
+        assertThat(Selection.max(new double[]{1.5, Double.NaN, 2.0})).isNaN();
+        assertThat(Selection.max(new double[]{-0.0, 0.0})).isEqualTo(0.0);
+
+        assertThatThrownBy(() -> Selection.max(List.<String>of())).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> Selection.max(new int[0])).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("parallelMax 는 나눠서 계산해도 순차 계산과 같고, 같은 값이 여럿이면 앞의 것을 돌려준다.")
+    void parallelMaxTest() {
+        int[] numbers = new Random(42).ints(1 << 18).toArray();
+        List<Integer> boxed = IntStream.of(numbers).boxed().collect(Collectors.toCollection(ArrayList::new));
+
+        assertThat(Selection.parallelMax(numbers)).isEqualTo(Selection.max(numbers));
+        assertThat(Selection.parallelMax(boxed)).isEqualTo(Selection.max(numbers));
+        assertThat(Selection.parallelMax(new LinkedList<>(boxed))).isEqualTo(Selection.max(numbers));
+
+        // 캐시 범위 밖이라 값은 같지만 서로 다른 객체다.
+        Integer first = Integer.valueOf(Integer.MAX_VALUE);
+        Integer second = Integer.valueOf(Integer.MAX_VALUE);
+        boxed.set(100, first);
+        boxed.add(second);
+        assertThat(Selection.parallelMax(boxed)).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("topK 는 정렬해서 앞의 k 개를 자른 것과 같고, 병렬 스트림의 Collector 로도 쓸 수 있다.")
+    void topKTest() {
+        int[] numbers = new Random(7).ints(100_000, 0, 1_000).toArray();
+        List<Integer> boxed = IntStream.of(numbers).boxed().collect(Collectors.toList());
+        List<Integer> expected = boxed.stream()
+            .sorted(Comparator.reverseOrder())
+            .limit(100)
+            .collect(Collectors.toList());
+
+        assertThat(boxed.parallelStream().collect(Selection.topK(100))).isEqualTo(expected);
+        assertThat(Selection.topK(boxed, 100)).isEqualTo(expected);
+        int[] expectedInts = expected.stream().mapToInt(Integer::intValue).toArray();
+        assertThat(Selection.topK(numbers, 100)).containsExactly(expectedInts);
+        assertThat(Selection.topK(IntStream.of(numbers).parallel(), 100)).containsExactly(expectedInts);
+
+        // 입력이 k 개보다 적으면 전부 돌려준다.
+        assertThat(Selection.topK(new long[]{3, 1, 2}, 10)).containsExactly(3, 2, 1);
+        assertThatThrownBy(() -> Selection.topK(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
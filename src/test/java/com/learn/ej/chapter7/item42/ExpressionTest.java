@@ -0,0 +1,67 @@
+package com.learn.ej.chapter7.item42;
+
+import static com.learn.ej.chapter7.item42.Expression.constant;
+import static com.learn.ej.chapter7.item42.Expression.variable;
+import static com.learn.ej.chapter7.item42.Operation.DIVIDE;
+import static com.learn.ej.chapter7.item42.Operation.MINUS;
+import static com.learn.ej.chapter7.item42.Operation.PLUS;
+import static com.learn.ej.chapter7.item42.Operation.TIMES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExpressionTest {
+
+    // (x0 + x1) * x2 - x3 / (2 * 4)
+    private static final Expression FORMULA = MINUS.of(
+        TIMES.of(PLUS.of(variable(0), variable(1)), variable(2)),
+        DIVIDE.of(variable(3), TIMES.of(constant(2), constant(4))));
+
+    @Test
+    @DisplayName("컴파일한 식은 한 행 계산, 열 계산 모두 해석기와 비트 단위로 같다.")
+    void compiledMatchesInterpreterTest() {
+        int rows = ParallelRange.DEFAULT_THRESHOLD * 2 + CompiledExpression.BLOCK_SIZE / 2;
+        Random rnd = new Random(42);
+        double[][] columns = new double[4][rows];
+        for (double[] column : columns) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = rnd.nextInt(10) == 0 ? 0.0 : rnd.nextGaussian();
+            }
+        }
+        CompiledExpression compiled = FORMULA.compile();
+        double[] out = new double[rows];
+        double[] parallelOut = new double[rows];
+
+        compiled.evaluate(columns, out);
+        compiled.parallelEvaluate(columns, parallelOut);
+
+        double[] row = new double[4];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = columns[j][i];
+            }
+            long expected = Double.doubleToRawLongBits(FORMULA.interpret(row));
+            assertThat(Double.doubleToRawLongBits(compiled.evaluate(row))).isEqualTo(expected);
+            assertThat(Double.doubleToRawLongBits(out[i])).isEqualTo(expected);
+            assertThat(Double.doubleToRawLongBits(parallelOut[i])).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("잎 하나뿐인 식도 계산하고, 열이 모자라면 IllegalArgumentException 이 발생한다.")
+    void leafAndInvalidColumnsTest() {
+        double[] out = new double[3];
+        PLUS.of(constant(1), constant(2)).compile().evaluate(new double[0][], out);
+        assertThat(out).containsExactly(3, 3, 3);
+
+        variable(1).compile().evaluate(new double[][]{{0, 0, 0}, {4, 5, 6}}, out);
+        assertThat(out).containsExactly(4, 5, 6);
+
+        assertThat(FORMULA.compile().variableCount()).isEqualTo(4);
+        assertThatThrownBy(() -> FORMULA.compile().evaluate(new double[3][3], out))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.learn.ej.chapter7.item42;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OperationTest {
+
+    private static final double[] SPECIAL_VALUES = {
+        0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        Double.MIN_VALUE, Double.MAX_VALUE, 0.1, 3};
+
+    @Test
+    @DisplayName("배열 연산 결과는 원소마다 apply(double, double) 와 비트 단위로 같다.")
+    void bulkApplyTest() {
+        int size = ParallelRange.DEFAULT_THRESHOLD * 4 + 3;
+        Random rnd = new Random(42);
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = i < SPECIAL_VALUES.length ? SPECIAL_VALUES[i] : rnd.nextGaussian() * 1e6;
+            y[i] = SPECIAL_VALUES[(i * 7) % SPECIAL_VALUES.length];
+        }
+        double[] out = new double[size];
+        double[] parallelOut = new double[size];
+        double[] broadcastOut = new double[size];
+
+        for (Operation op : Operation.values()) {
+            op.apply(x, y, out);
+            op.parallelApply(x, y, parallelOut);
+            op.apply(0.7, y, broadcastOut);
+            for (int i = 0; i < size; i++) {
+                long expected = Double.doubleToRawLongBits(op.apply(x[i], y[i]));
+                assertThat(Double.doubleToRawLongBits(out[i])).isEqualTo(expected);
+                assertThat(Double.doubleToRawLongBits(parallelOut[i])).isEqualTo(expected);
+                assertThat(Double.doubleToRawLongBits(broadcastOut[i]))
+                    .isEqualTo(Double.doubleToRawLongBits(op.apply(0.7, y[i])));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("배열 길이가 다르면 IllegalArgumentException 이 발생한다.")
+    void lengthMismatchTest() {
+        assertThatThrownBy(() -> Operation.PLUS.apply(new double[2], new double[3], new double[2]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Operation.PLUS.apply(new double[2], 1.0, new double[3]))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.learn.ej.chapter7.item44;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CacheMetricsBinderTest {
+
+    @Test
+    @DisplayName("get/getOrDefault/computeIfAbsent 조회와 내보낸 수를 cache.gets / cache.evictions 로 노출한다.")
+    void bindTest() {
+        StatsCounter stats = StatsCounter.concurrent();
+        UpgradeLinkedHashMap<String, Integer> map = new UpgradeLinkedHashMap<>(m -> m.size() > 2, stats);
+        CacheMetricsBinder binder = new CacheMetricsBinder();
+        binder.register("upgrade", stats);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            // 터키어 로케일에서는 "EXPIRED".toLowerCase() 가 점 없는 i 를 쓴다.
+            Locale.setDefault(new Locale("tr", "TR"));
+            binder.bindTo(registry);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        map.put("a", 1);
+        map.get("a");
+        map.get("b");
+        assertThat(map.getOrDefault("a", 0)).isEqualTo(1);
+        assertThat(map.getOrDefault("b", 0)).isZero();
+        assertThat(map.computeIfAbsent("a", k -> 100)).isEqualTo(1);
+        assertThat(map.computeIfAbsent("b", k -> 2)).isEqualTo(2);
+        map.put("c", 3);
+        stats.recordLoadSuccess(300);
+        stats.recordLoadFailure(700);
+
+        assertThat(registry.get("cache.gets").tags("cache", "upgrade", "result", "hit").functionCounter().count())
+            .isEqualTo(3);
+        assertThat(registry.get("cache.gets").tags("cache", "upgrade", "result", "miss").functionCounter().count())
+            .isEqualTo(3);
+        assertThat(registry.get("cache.evictions").tags("cache", "upgrade", "cause", "predicate")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.evictions").tags("cache", "upgrade", "cause", "expired")
+            .functionCounter().count()).isZero();
+        FunctionTimer load = registry.get("cache.load").tag("cache", "upgrade").functionTimer();
+        assertThat(load.count()).isEqualTo(2);
+        assertThat(load.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(1_000);
+        assertThat(registry.get("cache.load.failures").tag("cache", "upgrade").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("bindTo 뒤에 등록한 캐시는 바로 바인딩되고, 같은 이름은 다시 등록할 수 없다.")
+    void registerAfterBindTest() {
+        CacheMetricsBinder binder = new CacheMetricsBinder();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        binder.bindTo(registry);
+        StatsCounter stats = StatsCounter.concurrent();
+
+        binder.register("late", stats);
+        stats.recordEviction(EvictionCause.SLAB_FULL);
+
+        assertThat(registry.get("cache.evictions").tags("cache", "late", "cause", "slab_full")
+            .functionCounter().count()).isEqualTo(1);
+        assertThatThrownBy(() -> binder.register("late", StatsCounter.concurrent()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
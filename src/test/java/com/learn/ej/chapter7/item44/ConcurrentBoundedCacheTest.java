@@ -0,0 +1,173 @@
+package com.learn.ej.chapter7.item44;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentBoundedCacheTest {
+
+    @Test
+    @DisplayName("최대 가중치를 넘으면 한도 안으로 들어올 때까지 내보낸다.")
+    void maximumWeightTest() {
+        ConcurrentBoundedCache<Integer, String> cache = ConcurrentBoundedCache.<Integer, String>builder()
+            .maximumWeight(100)
+            .weigher((k, v) -> v.length())
+            .build();
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "x".repeat(1 + i % 10));
+        }
+
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("스캔성 트래픽이 지나가도 W-TinyLFU 는 자주 쓰는 키를 지키고, LRU 는 밀려난다.")
+    void scanResistanceTest() {
+        int lruHits = hotHitsAfterScan(ConcurrentBoundedCache.<Integer, Integer>builder()
+            .evictionPolicy(LruPolicy::new));
+        int tinyLfuHits = hotHitsAfterScan(ConcurrentBoundedCache.<Integer, Integer>builder()
+            .evictionPolicy(WindowTinyLfuPolicy::new));
+
+        assertThat(tinyLfuHits).isEqualTo(50);
+        assertThat(tinyLfuHits).isGreaterThan(lruHits);
+    }
+
+    private int hotHitsAfterScan(ConcurrentBoundedCache.Builder<Integer, Integer> builder) {
+        ConcurrentBoundedCache<Integer, Integer> cache = builder.maximumSize(100).build();
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, k -> k);
+            }
+            // 한 번 쓰고 마는 키가 섞여야 마지막 인기 키도 window 를 벗어나 protected 로 올라간다.
+            cache.get(-1 - round, k -> k);
+        }
+        for (int key = 1_000; key < 11_000; key++) {
+            cache.get(key, k -> k);
+        }
+
+        int hits = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Test
+    @DisplayName("같은 키를 동시에 로딩하면 loader 는 한 번만 호출된다.")
+    void singleFlightLoadTest() throws InterruptedException, ExecutionException {
+        ConcurrentBoundedCache<String, Integer> cache = ConcurrentBoundedCache.<String, Integer>builder()
+            .maximumSize(10)
+            .build();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService exec = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            results.add(exec.submit(() -> {
+                start.await();
+                return cache.get("key", k -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return 42;
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<Integer> result : results) {
+            assertThat(result.get()).isEqualTo(42);
+        }
+        exec.shutdown();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("loader 안에서 같은 키를 다시 요청하면 멈추지 않고 IllegalStateException 을 던진다.")
+    void recursiveLoadTest() {
+        ConcurrentBoundedCache<String, Integer> cache = ConcurrentBoundedCache.<String, Integer>builder()
+            .maximumSize(10)
+            .build();
+
+        assertThatThrownBy(() -> cache.get("a", a -> cache.get("b", b -> cache.get("a", k -> 1))))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get("a", k -> 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("W-TinyLFU 의 빈도 sketch 는 최대 가중치가 아니라 항목 수에 맞춰 커진다.")
+    void sketchSizedByEntryCountTest() {
+        WindowTinyLfuPolicy<Integer> policy = new WindowTinyLfuPolicy<>(8L << 30);
+        assertThat(policy.sketchCapacity()).isEqualTo(16);
+
+        for (int key = 0; key < 1_000; key++) {
+            policy.onInsert(key, 4_096);
+        }
+
+        assertThat(policy.sketchCapacity()).isBetween(1_000, 2_048);
+        assertThat(new WindowTinyLfuPolicy<Integer>(8L << 30, 100_000).sketchCapacity()).isEqualTo(131_072);
+    }
+
+    @Test
+    @DisplayName("expireAfterWrite 가 지나면 읽을 때 없는 것으로 취급하고 지운다.")
+    void expireAfterWriteTest() {
+        long[] now = {0};
+        ConcurrentBoundedCache<String, String> cache = ConcurrentBoundedCache.<String, String>builder()
+            .maximumSize(10)
+            .expireAfterWrite(Duration.ofSeconds(5))
+            .ticker(() -> now[0])
+            .build();
+
+        cache.put("a", "1");
+        now[0] = Duration.ofSeconds(4).toNanos();
+        assertThat(cache.getIfPresent("a")).isEqualTo("1");
+
+        now[0] = Duration.ofSeconds(5).toNanos();
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("recordStats 를 켜면 hit/miss, 로딩, 교체 원인을 기록한다.")
+    void recordStatsTest() {
+        ConcurrentBoundedCache<Integer, Integer> cache = ConcurrentBoundedCache.<Integer, Integer>builder()
+            .maximumSize(10)
+            .recordStats()
+            .build();
+
+        for (int i = 0; i < 20; i++) {
+            cache.get(i, k -> k);
+        }
+        cache.get(19, k -> k);
+        cache.get(100, k -> null);
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.getMissCount()).isEqualTo(21);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getLoadSuccessCount()).isEqualTo(20);
+        assertThat(stats.getLoadFailureCount()).isEqualTo(1);
+        assertThat(stats.evictionCount(EvictionCause.SIZE)).isEqualTo(10);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.learn.ej.chapter7.item44;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OffHeapUpgradeLinkedHashMapTest {
+
+    @Test
+    @DisplayName("eldestPredicate 는 UpgradeLinkedHashMap 과 같은 방식으로 동작한다.")
+    void eldestPredicateTest() {
+        Map<Integer, String> onHeap = new UpgradeLinkedHashMap<>(m -> m.size() > 100);
+        Map<Integer, String> offHeap = new OffHeapUpgradeLinkedHashMap<>(
+            m -> m.size() > 100, ValueSerializer.utf8(), new SlabAllocator(1 << 16, 4));
+
+        for (int i = 0; i < 1_000; i++) {
+            onHeap.put(i, "value-" + i);
+            offHeap.put(i, "value-" + i);
+        }
+
+        assertThat(offHeap).isEqualTo(onHeap);
+    }
+
+    @Test
+    @DisplayName("슬랩이 가득 차면 오래된 항목부터 내보내고, 지운 공간은 다른 크기의 값이 다시 쓴다.")
+    void slabPressureTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 2);
+        OffHeapUpgradeLinkedHashMap<Integer, byte[]> map =
+            new OffHeapUpgradeLinkedHashMap<>(ValueSerializer.byteArray(), slabs);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new byte[200]);
+        }
+        assertThat(map).hasSize(32).containsKey(99).doesNotContainKey(0);
+
+        map.clear();
+        assertThat(slabs.usedBytes()).isZero();
+        for (int i = 0; i < 128; i++) {
+            map.put(i, new byte[10]);
+        }
+        assertThat(map).hasSize(128);
+        assertThat(slabs.reservedBytes()).isEqualTo(2 << 12);
+    }
+
+    @Test
+    @DisplayName("작은 슬롯으로 쪼개진 세그먼트도 모두 해제하면 짝끼리 합쳐져 큰 값을 다시 받는다.")
+    void buddyCoalescingTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 1);
+        long[] addresses = new long[64];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = slabs.allocate(60);
+        }
+        assertThat(slabs.allocate(60)).isEqualTo(SlabAllocator.OUT_OF_MEMORY);
+
+        for (long address : addresses) {
+            slabs.free(address, 60);
+        }
+
+        assertThat(slabs.usedBytes()).isZero();
+        assertThat(slabs.allocate(1_000)).isNotEqualTo(SlabAllocator.OUT_OF_MEMORY);
+        assertThat(slabs.allocate(1 << 11)).isNotEqualTo(SlabAllocator.OUT_OF_MEMORY);
+    }
+
+    @Test
+    @DisplayName("크기가 섞인 값을 계속 넣어도 큰 값 때문에 캐시가 비워지지 않고, 남은 값은 그대로 읽힌다.")
+    void mixedSizeValuesTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 4);
+        OffHeapUpgradeLinkedHashMap<Integer, byte[]> map =
+            new OffHeapUpgradeLinkedHashMap<>(ValueSerializer.byteArray(), slabs);
+
+        for (int i = 0; i < 2_000; i++) {
+            map.put(i, valueOf(i));
+            assertThat(map).containsKey(i);
+        }
+
+        assertThat(map.size()).isGreaterThan(1);
+        map.forEach((key, value) -> assertThat(value).isEqualTo(valueOf(key)));
+        map.clear();
+        assertThat(slabs.usedBytes()).isZero();
+        map.put(-1, new byte[1 << 12]);
+        assertThat(map).hasSize(1);
+    }
+
+    private static byte[] valueOf(int key) {
+        byte[] value = new byte[key % 7 == 0 ? 3_000 : 1 + (key * 37) % 500];
+        Arrays.fill(value, (byte) key);
+        return value;
+    }
+
+    @Test
+    @DisplayName("직렬화 중에 예외가 나면 잡아둔 슬롯을 돌려준다.")
+    void serializerFailureReleasesSlotTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 1);
+        ValueSerializer<byte[]> bytes = ValueSerializer.byteArray();
+        OffHeapUpgradeLinkedHashMap<Integer, byte[]> map = new OffHeapUpgradeLinkedHashMap<>(
+            new ValueSerializer<>() {
+                @Override
+                public int sizeOf(byte[] value) {
+                    return bytes.sizeOf(value);
+                }
+
+                @Override
+                public void write(byte[] value, ByteBuffer dst) {
+                    if (value.length == 0) {
+                        throw new IllegalArgumentException("empty value");
+                    }
+                    bytes.write(value, dst);
+                }
+
+                @Override
+                public byte[] read(ByteBuffer src) {
+                    return bytes.read(src);
+                }
+            }, slabs);
+        map.put(1, new byte[100]);
+        long used = slabs.usedBytes();
+
+        assertThatThrownBy(() -> map.put(2, new byte[0])).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(slabs.usedBytes()).isEqualTo(used);
+        assertThat(map).hasSize(1).doesNotContainKey(2);
+    }
+
+    @Test
+    @DisplayName("슬랩이 가득 찬 상태에서 값을 덮어써도 그 키는 내보내지 않고, 다른 항목을 내보내 자리를 만든다.")
+    void replaceWhenSlabFullTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 1);
+        OffHeapUpgradeLinkedHashMap<Integer, byte[]> map = new OffHeapUpgradeLinkedHashMap<>(
+            m -> false, ValueSerializer.byteArray(), slabs, StatsCounter.concurrent());
+        map.put(0, filled(1_500, 0));
+        map.put(1, filled(1_500, 1));
+
+        assertThat(map.put(0, filled(1_500, 2))).isEqualTo(filled(1_500, 0));
+
+        assertThat(map).containsOnlyKeys(0);
+        assertThat(map.get(0)).isEqualTo(filled(1_500, 2));
+        assertThat(map.stats().evictionCount(EvictionCause.SLAB_FULL)).isEqualTo(1);
+
+        // 내보낼 다른 항목이 없으면 덮어쓸 값의 자리를 돌려주고 다시 받는다.
+        assertThat(map.put(0, filled(3_000, 3))).isEqualTo(filled(1_500, 2));
+        assertThat(map.set(0, filled(3_000, 4))).isTrue();
+        assertThat(map).containsOnlyKeys(0);
+        assertThat(map.get(0)).isEqualTo(filled(3_000, 4));
+        assertThat(slabs.usedBytes()).isEqualTo(1 << 12);
+    }
+
+    @Test
+    @DisplayName("키만 순회하면 값을 역직렬화하지 않고, keySet 으로 지운 항목의 슬롯은 돌려준다.")
+    void keySetDoesNotReadValuesTest() {
+        SlabAllocator slabs = new SlabAllocator(1 << 12, 4);
+        ValueSerializer<String> utf8 = ValueSerializer.utf8();
+        int[] reads = new int[1];
+        OffHeapUpgradeLinkedHashMap<Integer, String> map = new OffHeapUpgradeLinkedHashMap<>(
+            new ValueSerializer<>() {
+                @Override
+                public int sizeOf(String value) {
+                    return utf8.sizeOf(value);
+                }
+
+                @Override
+                public void write(String value, ByteBuffer dst) {
+                    utf8.write(value, dst);
+                }
+
+                @Override
+                public String read(ByteBuffer src) {
+                    reads[0]++;
+                    return utf8.read(src);
+                }
+            }, slabs);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "value-" + i);
+        }
+        assertThat(map.set(0, "value-0")).isTrue();
+
+        assertThat(map.keySet()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        map.entrySet().forEach(Map.Entry::getKey);
+        assertThat(map.keySet().remove(1)).isTrue();
+        for (Iterator<Integer> it = map.keySet().iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertThat(reads[0]).isZero();
+
+        assertThat(map).containsOnlyKeys(3, 5, 7, 9);
+        assertThat(map.put(3, "three")).isEqualTo("value-3");
+        assertThat(map.replace(3, "value-3")).isEqualTo("three");
+        assertThat(map.set(11, "value-11")).isFalse();
+        assertThat(map.keySet().remove(11)).isTrue();
+        assertThat(map.values()).containsExactly("value-3", "value-5", "value-7", "value-9");
+        map.keySet().clear();
+        assertThat(slabs.usedBytes()).isZero();
+    }
+
+    private static byte[] filled(int length, int marker) {
+        byte[] value = new byte[length];
+        Arrays.fill(value, (byte) marker);
+        return value;
+    }
+}
@@ -0,0 +1,61 @@
+package com.learn.ej.chapter7.item45;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CartesianProductTest {
+
+    @Test
+    @DisplayName("곱집합은 중첩 for 문과 같은 순서로 나오고, 병렬로 만들어도 순서가 같다.")
+    void productOrderTest() {
+        List<String> expected = List.of("a1", "a2", "a3", "b1", "b2", "b3");
+
+        assertThat(CartesianProduct.of(List.of("a", "b"), List.of(1, 2, 3), (s, i) -> s + i))
+            .containsExactlyElementsOf(expected);
+        assertThat(CartesianProduct.of(new String[]{"a", "b"}, new Integer[]{1, 2, 3}, (s, i) -> s + i).parallel())
+            .containsExactlyElementsOf(expected);
+
+        assertThat(Item45.newDeckUsingProduct()).hasSize(52);
+        assertThat(CartesianProduct.of(Item45.Suit.class, Item45.Rank.class, (s, r) -> s + "-" + r).findFirst())
+            .hasValue("CLUB-ACE");
+    }
+
+    @Test
+    @DisplayName("축이 여러 개여도 마지막 축이 가장 빨리 바뀌고, 빈 축이 있으면 비어 있다.")
+    void multiAxisTest() {
+        List<List<Integer>> tuples = CartesianProduct.<Integer>of(List.of(List.of(0, 1), List.of(0, 1), List.of(0, 1)))
+            .collect(Collectors.toList());
+
+        assertThat(tuples).hasSize(8);
+        assertThat(tuples.get(0)).containsExactly(0, 0, 0);
+        assertThat(tuples.get(1)).containsExactly(0, 0, 1);
+        assertThat(tuples.get(6)).containsExactly(1, 1, 0);
+        assertThat(CartesianProduct.of(List.of(List.of(1, 2), List.of())).count()).isZero();
+    }
+
+    @Test
+    @DisplayName("크기를 아는 Spliterator 라서 정확히 반씩 나뉘고, 나눈 조각도 크기를 안다.")
+    void sizedSplitTest() {
+        List<Integer> axis = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        Stream<Integer> product = CartesianProduct.of(axis, axis, Integer::sum);
+        Spliterator<Integer> spliterator = product.spliterator();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1_000_000);
+
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertThat(prefix.getExactSizeIfKnown()).isEqualTo(500_000);
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(500_000);
+
+        long parallelSum = CartesianProduct.of(axis, axis, Integer::sum).parallel().mapToLong(i -> i).sum();
+        // (x + y) 의 합 = 2 * 1000 * (0 + 1 + ... + 999)
+        assertThat(parallelSum).isEqualTo(2L * 1000 * 499_500);
+    }
+}
@@ -0,0 +1,79 @@
+package com.learn.ej.chapter7.item47;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PowerSetTest {
+
+    @Test
+    @DisplayName("멱집합의 index 번째 부분집합은 index 의 비트가 가리키는 원소들이고, indexOf 는 그 반대다.")
+    void powerSetTest() {
+        Set<String> source = new LinkedHashSet<>(List.of("a", "b", "c"));
+        List<Set<String>> powerSet = PowerSet.of(source);
+
+        assertThat(powerSet).hasSize(8);
+        assertThat(powerSet.get(0)).isEmpty();
+        assertThat(powerSet.get(5)).containsExactly("a", "c");
+        assertThat(powerSet.get(5)).isEqualTo(Set.of("a", "c"));
+        assertThat(powerSet.indexOf(Set.of("b", "c"))).isEqualTo(6);
+        assertThat(powerSet.contains(Set.of("a", "z"))).isFalse();
+        assertThat(new HashSet<>(powerSet)).hasSize(8);
+    }
+
+    @Test
+    @DisplayName("원소가 30 개를 넘으면 List 로는 만들 수 없지만 스트림으로는 미리 만들지 않고 나눠서 훑을 수 있다.")
+    void largePowerSetStreamTest() {
+        Set<Integer> source = IntStream.range(0, 40).boxed().collect(Collectors.toSet());
+
+        assertThatThrownBy(() -> PowerSet.of(source)).isInstanceOf(IllegalArgumentException.class);
+
+        Spliterator<Set<Integer>> spliterator = PowerSet.stream(source).spliterator();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1L << 40);
+        assertThat(spliterator.trySplit().getExactSizeIfKnown()).isEqualTo(1L << 39);
+
+        Set<Integer> small = IntStream.range(0, 16).boxed().collect(Collectors.toSet());
+        long totalElements = PowerSet.stream(small).parallel().mapToLong(Set::size).sum();
+        // 원소마다 절반의 부분집합에 들어 있다.
+        assertThat(totalElements).isEqualTo(16L << 15);
+    }
+
+    @Test
+    @DisplayName("부분리스트 스트림은 빈 리스트 다음에 시작 위치, 끝 위치 순으로 나오고 병렬로 만들어도 같다.")
+    void subListsTest() {
+        List<Integer> list = List.of(1, 2, 3);
+        List<List<Integer>> expected = List.of(
+            List.of(), List.of(1), List.of(1, 2), List.of(1, 2, 3), List.of(2), List.of(2, 3), List.of(3));
+
+        assertThat(SubLists.of(list)).containsExactlyElementsOf(expected);
+        assertThat(SubLists.of(list).parallel().collect(Collectors.toList())).isEqualTo(expected);
+
+        List<Integer> hundred = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        assertThat(SubLists.of(hundred).count()).isEqualTo(100 * 101 / 2 + 1);
+    }
+
+    @Test
+    @DisplayName("어댑터로 스트림을 for-each 로, Iterable 을 스트림으로 쓸 수 있다.")
+    void adapterTest() {
+        List<Integer> collected = new ArrayList<>();
+        for (int i : Item47.iterableOf(Stream.of(1, 2, 3))) {
+            collected.add(i);
+        }
+        assertThat(collected).containsExactly(1, 2, 3);
+
+        Iterable<Integer> iterable = new ArrayDeque<>(List.of(4, 5))::iterator;
+        assertThat(Item47.streamOf(iterable)).containsExactly(4, 5);
+    }
+}
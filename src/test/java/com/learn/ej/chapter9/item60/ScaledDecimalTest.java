@@ -0,0 +1,118 @@
+package com.learn.ej.chapter9.item60;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ScaledDecimalTest {
+
+    @Test
+    @DisplayName("double 로 계산하면 틀리는 Item60 의 예제도 정확히 계산한다.")
+    void exactArithmeticTest() {
+        assertThat(ScaledDecimal.parse("1.03").subtract(ScaledDecimal.parse("0.42")))
+            .hasToString("0.61");
+        assertThat(ScaledDecimal.parse("1.00").subtract(ScaledDecimal.parse("0.10").multiply(9)))
+            .hasToString("0.10");
+        // 자릿수가 다르면 큰 쪽에 맞춘다.
+        assertThat(ScaledDecimal.parse("1.5").add(ScaledDecimal.parse("0.25")))
+            .hasToString("1.75");
+    }
+
+    @Test
+    @DisplayName("BigDecimal 과 달리 1.0 과 1.00 은 HashSet 과 TreeSet 에서 모두 같은 원소다.")
+    void equalsConsistentWithCompareToTest() {
+        ScaledDecimal one = ScaledDecimal.parse("1.0");
+        ScaledDecimal oneHundredths = ScaledDecimal.parse("1.00");
+
+        assertThat(one).isEqualTo(oneHundredths);
+        assertThat(one).hasSameHashCodeAs(oneHundredths);
+        assertThat(one.compareTo(oneHundredths)).isZero();
+
+        Set<ScaledDecimal> hashSet = new HashSet<>(Set.of(one));
+        hashSet.add(oneHundredths);
+        Set<ScaledDecimal> treeSet = new TreeSet<>(Set.of(one));
+        treeSet.add(oneHundredths);
+        assertThat(hashSet).hasSize(1);
+        assertThat(treeSet).hasSize(1);
+
+        // 자릿수가 18 을 넘어 0 을 지울 때 정수부의 0 까지 지워지면 안 된다.
+        ScaledDecimal hundred = ScaledDecimal.parse("100.0000000000000000000");
+        assertThat(hundred.scale()).isBetween(0, 18);
+        assertThat(hundred).isEqualTo(ScaledDecimal.of(100, 0));
+        assertThat(hundred).hasSameHashCodeAs(ScaledDecimal.of(100, 0));
+        assertThat(new HashSet<>(Set.of(hundred))).contains(ScaledDecimal.of(100, 0));
+        assertThat(hundred.compareTo(ScaledDecimal.of(1, 17))).isPositive();
+
+        // 자릿수를 맞추면 long 을 넘는 값도 올바르게 비교한다.
+        assertThat(ScaledDecimal.of(Long.MAX_VALUE, 0).compareTo(ScaledDecimal.of(1, 18))).isPositive();
+        assertThat(ScaledDecimal.of(Long.MIN_VALUE, 0).compareTo(ScaledDecimal.of(1, 18))).isNegative();
+    }
+
+    @Test
+    @DisplayName("곱셈과 나눗셈은 this 의 자릿수로 BigDecimal 과 같은 규칙으로 반올림한다.")
+    void roundingTest() {
+        ScaledDecimal price = ScaledDecimal.parse("10.00");
+        ScaledDecimal three = ScaledDecimal.parse("3");
+
+        assertThat(price.divide(three, RoundingMode.HALF_EVEN)).hasToString("3.33");
+        assertThat(price.divide(three, RoundingMode.UP)).hasToString("3.34");
+        assertThat(ScaledDecimal.parse("2.50").multiply(ScaledDecimal.parse("0.5"), RoundingMode.HALF_EVEN))
+            .hasToString("1.25");
+        assertThat(ScaledDecimal.parse("0.125").setScale(2, RoundingMode.HALF_EVEN)).hasToString("0.12");
+        assertThat(ScaledDecimal.parse("-0.125").setScale(2, RoundingMode.HALF_UP)).hasToString("-0.13");
+
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            BigDecimal expected = new BigDecimal("-7.77").divide(new BigDecimal("0.6"), 2, mode);
+            assertThat(ScaledDecimal.parse("-7.77").divide(ScaledDecimal.parse("0.6"), mode).toBigDecimal())
+                .isEqualTo(expected);
+        }
+        assertThatThrownBy(() -> price.divide(three, RoundingMode.UNNECESSARY))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> price.divide(ScaledDecimal.ZERO, RoundingMode.HALF_EVEN))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("long 범위를 넘으면 조용히 넘치지 않고 ArithmeticException 이 발생한다.")
+    void overflowTest() {
+        ScaledDecimal max = ScaledDecimal.of(Long.MAX_VALUE, 2);
+
+        assertThatThrownBy(() -> max.add(ScaledDecimal.of(1, 2))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.multiply(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> ScaledDecimal.of(Long.MIN_VALUE, 0).negate())
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> ScaledDecimal.of(1, 19)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("누적기는 자릿수가 작은 값은 맞춰서 더하고, 값을 잃어야 하는 자릿수는 거부한다.")
+    void accumulatorTest() {
+        ScaledDecimalAccumulator sum = new ScaledDecimalAccumulator(2);
+        for (int i = 0; i < 10; i++) {
+            sum.add(ScaledDecimal.parse("0.10"));
+        }
+        sum.add(ScaledDecimal.parse("1"));
+        sum.add(ScaledDecimal.parse("0.500"));
+        sum.subtract(ScaledDecimal.parse("0.25"));
+        assertThat(sum.get()).hasToString("2.25");
+
+        assertThatThrownBy(() -> sum.add(ScaledDecimal.parse("0.001"))).isInstanceOf(ArithmeticException.class);
+        assertThat(sum.get()).hasToString("2.25");
+        assertThatThrownBy(() -> sum.add(5, -30)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sum.add(5, 19)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(sum.get()).hasToString("2.25");
+
+        sum.reset();
+        assertThat(sum.get()).isEqualTo(ScaledDecimal.ZERO);
+    }
+}